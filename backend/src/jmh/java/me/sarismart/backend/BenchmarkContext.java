@@ -0,0 +1,43 @@
+package me.sarismart.backend;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.UUID;
+
+// Boots the application against an in-memory H2 database (the "bench" profile)
+// for benchmarks that go through the service and repository layers. H2 runs in
+// process, so these show how much work each path does per call, not the
+// network round trips it costs against the Supabase pooler.
+public final class BenchmarkContext {
+
+	private BenchmarkContext() {
+	}
+
+	public static ConfigurableApplicationContext start(String... properties) {
+		// JMH runs setup and benchmark methods on different threads.
+		SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+		return new SpringApplicationBuilder(SarismartBackendApiApplication.class)
+				.profiles("bench")
+				.properties(properties)
+				.run();
+	}
+
+	// Inserts a user and makes it the caller of every service method.
+	public static String signInNewUser(JdbcTemplate jdbcTemplate) {
+		String userId = UUID.randomUUID().toString();
+		jdbcTemplate.update("INSERT INTO users (supabase_uid, email) VALUES (?, ?)", userId, userId + "@example.com");
+		SecurityContextHolder.getContext().setAuthentication(
+				new UsernamePasswordAuthenticationToken(userId, null, List.of()));
+		return userId;
+	}
+
+	public static void insertStore(JdbcTemplate jdbcTemplate, long storeId, String ownerId, double latitude, double longitude) {
+		jdbcTemplate.update("INSERT INTO stores (id, store_name, location, latitude, longitude, owner_id) VALUES (?, ?, ?, ?, ?, ?)",
+				storeId, "Bench Store " + storeId, "Cebu City", latitude, longitude, ownerId);
+	}
+}
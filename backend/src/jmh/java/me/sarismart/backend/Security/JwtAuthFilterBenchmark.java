@@ -0,0 +1,108 @@
+package me.sarismart.backend.Security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import me.sarismart.backend.Config.AppConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Requests through JwtAuthFilter with a bearer token. "warm" resends tokens
+// whose claims are already cached, as the mobile app does between logins;
+// "cold" cycles through more tokens than the cache holds, so every request
+// parses the token and verifies its signature as before the claims cache.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthFilterBenchmark {
+
+	private static final String SUPABASE_URL = "https://bench.supabase.co";
+	private static final String SECRET_KEY = "benchmark-secret-key-that-is-at-least-256-bits-long";
+	private static final int TOKENS = 1024;
+
+	@Param({"warm", "cold"})
+	public String claimsCache;
+
+	private final FilterChain chain = (request, response) -> {
+	};
+
+	private JwtAuthFilter filter;
+	private String[] authorizationHeaders;
+
+	@State(Scope.Thread)
+	public static class Cursor {
+		int next;
+	}
+
+	@Setup
+	public void setUp() {
+		AppConfig appConfig = new AppConfig() {
+			@Override
+			public String getUrl() {
+				return SUPABASE_URL;
+			}
+
+			@Override
+			public String getSecretKey() {
+				return SECRET_KEY;
+			}
+		};
+		int maxCachedTokens = "warm".equals(claimsCache) ? TOKENS : 1;
+		JwtUtil jwtUtil = new JwtUtil(appConfig, new SimpleMeterRegistry(), maxCachedTokens, Duration.ofHours(1));
+
+		filter = new JwtAuthFilter();
+		ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+		ReflectionTestUtils.setField(filter, "successSampleRate", 100);
+
+		Date expiresAt = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(2));
+		authorizationHeaders = new String[TOKENS];
+		for (int i = 0; i < TOKENS; i++) {
+			String token = Jwts.builder()
+					.setSubject(UUID.randomUUID().toString())
+					.setIssuer(SUPABASE_URL + "/auth/v1")
+					.setAudience("authenticated")
+					.claim("role", "authenticated")
+					.setExpiration(expiresAt)
+					.signWith(Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8)), SignatureAlgorithm.HS256)
+					.compact();
+			authorizationHeaders[i] = "Bearer " + token;
+			if ("warm".equals(claimsCache)) {
+				jwtUtil.validateToken(token);
+			}
+		}
+	}
+
+	@Benchmark
+	public Object authenticate(Cursor cursor) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/stores/owner");
+		cursor.next = (cursor.next + 1) % TOKENS;
+		request.addHeader("Authorization", authorizationHeaders[cursor.next]);
+		filter.doFilter(request, new MockHttpServletResponse(), chain);
+		SecurityContextHolder.clearContext();
+		return request.getAttribute("user_id");
+	}
+}
@@ -0,0 +1,141 @@
+package me.sarismart.backend.Service;
+
+import jakarta.persistence.EntityManagerFactory;
+import me.sarismart.backend.BenchmarkContext;
+import me.sarismart.backend.DTO.StockAdjustmentRequest;
+import me.sarismart.backend.DTO.StockLevel;
+import me.sarismart.backend.Entity.Sale;
+import me.sarismart.backend.Entity.SaleItem;
+import me.sarismart.backend.Repository.ProductRepository;
+import me.sarismart.backend.Repository.SaleRepository;
+import me.sarismart.backend.Repository.StoreRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Bulk ingestion with Hibernate's JDBC batching off (batch size 1) and on (50,
+// as configured). Each op is one bulk stock adjustment of 500 products, or 200
+// sales of 3 items saved in one transaction. The statements counter is the
+// number of JDBC statements prepared in the iteration (divide by the op count
+// for per-op figures): each one is a round trip to the Supabase pooler in
+// production, which H2 in process does not show in the timings.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkIngestionBenchmark {
+
+	private static final long STORE_ID = 1_000_000L;
+	private static final long FIRST_PRODUCT_ID = 1_000_000L;
+	private static final int PRODUCTS = 500;
+	private static final int SALES = 200;
+	private static final int ITEMS_PER_SALE = 3;
+
+	@Param({"1", "50"})
+	public int batchSize;
+
+	private ConfigurableApplicationContext context;
+	private StoreService storeService;
+	private StoreRepository storeRepository;
+	private ProductRepository productRepository;
+	private SaleRepository saleRepository;
+	private TransactionTemplate transactionTemplate;
+	private Statistics statistics;
+	private List<StockAdjustmentRequest> adjustments;
+
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Statements {
+		public long statements;
+	}
+
+	@Setup
+	public void setUp() {
+		context = BenchmarkContext.start(
+				"spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+				"spring.jpa.properties.hibernate.generate_statistics=true");
+		storeService = context.getBean(StoreService.class);
+		storeRepository = context.getBean(StoreRepository.class);
+		productRepository = context.getBean(ProductRepository.class);
+		saleRepository = context.getBean(SaleRepository.class);
+		transactionTemplate = context.getBean(TransactionTemplate.class);
+		statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+		String ownerId = BenchmarkContext.signInNewUser(jdbcTemplate);
+		BenchmarkContext.insertStore(jdbcTemplate, STORE_ID, ownerId, 10.3157, 123.8854);
+		List<Object[]> rows = new ArrayList<>(PRODUCTS);
+		adjustments = new ArrayList<>(PRODUCTS);
+		for (int i = 0; i < PRODUCTS; i++) {
+			long id = FIRST_PRODUCT_ID + i;
+			rows.add(new Object[]{id, String.valueOf(4800000000000L + i), "Product " + i, 25.0, STORE_ID});
+			adjustments.add(new StockAdjustmentRequest(id, 12));
+		}
+		jdbcTemplate.batchUpdate("""
+				INSERT INTO products (id, barcode, name, price, stock, sold, revenue, reorder_level, store_id)
+				VALUES (?, ?, ?, ?, 0, 0, 0, 0, ?)
+				""", rows);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<StockLevel> bulkAdjustStock(Statements counter) {
+		long before = statistics.getPrepareStatementCount();
+		List<StockLevel> levels = storeService.bulkAdjustStock(STORE_ID, adjustments);
+		counter.statements += statistics.getPrepareStatementCount() - before;
+		return levels;
+	}
+
+	@Benchmark
+	public List<Sale> ingestSales(Statements counter) {
+		long before = statistics.getPrepareStatementCount();
+		List<Sale> saved = transactionTemplate.execute(status -> {
+			LocalDateTime saleDate = LocalDateTime.now();
+			List<Sale> sales = new ArrayList<>(SALES);
+			for (int i = 0; i < SALES; i++) {
+				Sale sale = new Sale();
+				sale.setStore(storeRepository.getReferenceById(STORE_ID));
+				sale.setSaleDate(saleDate);
+				for (int j = 0; j < ITEMS_PER_SALE; j++) {
+					SaleItem item = new SaleItem();
+					item.setSale(sale);
+					item.setProduct(productRepository.getReferenceById(FIRST_PRODUCT_ID + (i * ITEMS_PER_SALE + j) % PRODUCTS));
+					item.setQuantity(1);
+					item.setUnitPrice(25.0);
+					sale.getItems().add(item);
+				}
+				sale.setTotalAmount(ITEMS_PER_SALE * 25.0);
+				sales.add(sale);
+			}
+			return saleRepository.saveAll(sales);
+		});
+		counter.statements += statistics.getPrepareStatementCount() - before;
+		return saved;
+	}
+}
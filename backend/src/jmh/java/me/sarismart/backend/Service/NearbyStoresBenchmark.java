@@ -0,0 +1,140 @@
+package me.sarismart.backend.Service;
+
+import jakarta.persistence.EntityManager;
+import me.sarismart.backend.BenchmarkContext;
+import me.sarismart.backend.Entity.Store;
+import me.sarismart.backend.Util.GeoUtil;
+import me.sarismart.backend.Util.GeoUtil.BoundingBox;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Nearby lookups over 20,000 stores spread across Metro Cebu, from random
+// points in the same area:
+// - nativeQuery: the bounding-box/haversine query the endpoint ran before the
+//   location index.
+// - locationIndex: the in-memory index alone.
+// - getNearbyStores: the endpoint's service call with the result cache
+//   cleared, so the index lookup plus loading the matching rows.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NearbyStoresBenchmark {
+
+	private static final long FIRST_ID = 1_000_000L;
+	private static final int STORES = 20_000;
+	private static final double MIN_LATITUDE = 10.05;
+	private static final double MIN_LONGITUDE = 123.65;
+	private static final double SPAN_DEGREES = 0.5;
+
+	private static final String NATIVE_QUERY = """
+		SELECT * FROM stores
+		WHERE latitude BETWEEN :minLatitude AND :maxLatitude
+		  AND longitude BETWEEN :minLongitude AND :maxLongitude
+		  AND (
+		    6371 * acos(LEAST(1.0,
+		        cos(radians(:latitude)) * cos(radians(latitude)) *
+		        cos(radians(longitude) - radians(:longitude)) +
+		        sin(radians(:latitude)) * sin(radians(latitude))
+		    ))
+		  ) <= :radius
+		ORDER BY (
+		    6371 * acos(LEAST(1.0,
+		        cos(radians(:latitude)) * cos(radians(latitude)) *
+		        cos(radians(longitude) - radians(:longitude)) +
+		        sin(radians(:latitude)) * sin(radians(latitude))
+		    ))
+		)
+		""";
+
+	@Param({"1", "5"})
+	public double radiusKm;
+
+	private ConfigurableApplicationContext context;
+	private StoreService storeService;
+	private StoreLocationIndex storeLocationIndex;
+	private NearbyStoreCache nearbyStoreCache;
+	private EntityManager entityManager;
+
+	@Setup
+	public void setUp() {
+		context = BenchmarkContext.start();
+		storeService = context.getBean(StoreService.class);
+		storeLocationIndex = context.getBean(StoreLocationIndex.class);
+		nearbyStoreCache = context.getBean(NearbyStoreCache.class);
+		entityManager = context.getBean(EntityManager.class);
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+		String ownerId = BenchmarkContext.signInNewUser(jdbcTemplate);
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		List<Object[]> rows = new ArrayList<>(STORES);
+		for (int i = 0; i < STORES; i++) {
+			long id = FIRST_ID + i;
+			double latitude = MIN_LATITUDE + random.nextDouble() * SPAN_DEGREES;
+			double longitude = MIN_LONGITUDE + random.nextDouble() * SPAN_DEGREES;
+			rows.add(new Object[]{id, "Bench Store " + id, "Cebu", latitude, longitude, ownerId});
+			storeLocationIndex.put(id, latitude, longitude);
+		}
+		jdbcTemplate.batchUpdate(
+				"INSERT INTO stores (id, store_name, location, latitude, longitude, owner_id) VALUES (?, ?, ?, ?, ?, ?)", rows);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<?> nativeQuery() {
+		double latitude = randomLatitude();
+		double longitude = randomLongitude();
+		BoundingBox box = GeoUtil.boundingBox(latitude, longitude, radiusKm);
+		return entityManager.createNativeQuery(NATIVE_QUERY, Store.class)
+				.setParameter("latitude", latitude)
+				.setParameter("longitude", longitude)
+				.setParameter("radius", radiusKm)
+				.setParameter("minLatitude", box.minLat())
+				.setParameter("maxLatitude", box.maxLat())
+				.setParameter("minLongitude", box.minLon())
+				.setParameter("maxLongitude", box.maxLon())
+				.getResultList();
+	}
+
+	@Benchmark
+	public List<StoreLocationIndex.StoreDistance> locationIndex() {
+		return storeLocationIndex.withinRadius(randomLatitude(), randomLongitude(), radiusKm);
+	}
+
+	@Benchmark
+	public List<Store> getNearbyStores() {
+		nearbyStoreCache.invalidateAll();
+		return storeService.getNearbyStores(randomLatitude(), randomLongitude(), radiusKm);
+	}
+
+	private static double randomLatitude() {
+		return MIN_LATITUDE + ThreadLocalRandom.current().nextDouble() * SPAN_DEGREES;
+	}
+
+	private static double randomLongitude() {
+		return MIN_LONGITUDE + ThreadLocalRandom.current().nextDouble() * SPAN_DEGREES;
+	}
+}
@@ -0,0 +1,133 @@
+package me.sarismart.backend.Service;
+
+import me.sarismart.backend.BenchmarkContext;
+import me.sarismart.backend.DTO.CursorPage;
+import me.sarismart.backend.DTO.SaleSummary;
+import me.sarismart.backend.Entity.Sale;
+import me.sarismart.backend.Repository.StoreRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Sale lookups and refunds in a store with 100,000 sales over the past year.
+// storeCollection is the lookup getSale and refundSale did before: load
+// store.getSales() and filter it for one sale. createSale is left out because
+// its daily rollup upsert (ON CONFLICT DO UPDATE) only runs on PostgreSQL.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaleHistoryBenchmark {
+
+	private static final long STORE_ID = 1_000_000L;
+	private static final long PRODUCT_ID = 1_000_000L;
+	private static final long FIRST_SALE_ID = 1_000_000L;
+	private static final int SALES = 100_000;
+
+	private ConfigurableApplicationContext context;
+	private StoreService storeService;
+	private StoreRepository storeRepository;
+	private TransactionTemplate transactionTemplate;
+	private JdbcTemplate jdbcTemplate;
+	// Sales inserted for refunds, after the seeded ones.
+	private final AtomicLong nextSaleId = new AtomicLong(FIRST_SALE_ID + SALES);
+
+	@State(Scope.Thread)
+	public static class RefundTarget {
+		long saleId;
+
+		@Setup(Level.Invocation)
+		public void insertSale(SaleHistoryBenchmark benchmark) {
+			saleId = benchmark.nextSaleId.getAndIncrement();
+			benchmark.jdbcTemplate.update("INSERT INTO sales (id, store_id, total_amount, sale_date) VALUES (?, ?, ?, ?)",
+					saleId, STORE_ID, 50.0, Timestamp.valueOf(LocalDateTime.now()));
+			benchmark.jdbcTemplate.update("INSERT INTO sale_items (id, sale_id, product_id, quantity, unit_price) VALUES (?, ?, ?, ?, ?)",
+					saleId, saleId, PRODUCT_ID, 2, 25.0);
+			benchmark.jdbcTemplate.update("UPDATE products SET stock = stock - 2, sold = sold + 2, revenue = revenue + 50 WHERE id = ?",
+					PRODUCT_ID);
+		}
+	}
+
+	@Setup
+	public void setUp() {
+		// The sales velocity listener's upsert is PostgreSQL-only and fails after
+		// every refund here; it runs after commit and does not affect the timings.
+		context = BenchmarkContext.start(
+				"logging.level.org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler=OFF");
+		storeService = context.getBean(StoreService.class);
+		storeRepository = context.getBean(StoreRepository.class);
+		transactionTemplate = context.getBean(TransactionTemplate.class);
+		jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+		String ownerId = BenchmarkContext.signInNewUser(jdbcTemplate);
+		BenchmarkContext.insertStore(jdbcTemplate, STORE_ID, ownerId, 10.3157, 123.8854);
+		jdbcTemplate.update("""
+				INSERT INTO products (id, barcode, name, price, stock, sold, revenue, reorder_level, store_id)
+				VALUES (?, '4800000000001', 'Instant Noodles', 25.0, 1000000, 0, 0, 0, ?)
+				""", PRODUCT_ID, STORE_ID);
+
+		LocalDateTime now = LocalDateTime.now();
+		List<Object[]> rows = new ArrayList<>(SALES);
+		for (int i = 0; i < SALES; i++) {
+			LocalDateTime saleDate = now.minusMinutes(ThreadLocalRandom.current().nextLong(365L * 24 * 60));
+			rows.add(new Object[]{FIRST_SALE_ID + i, STORE_ID, 25.0 * (1 + i % 10), Timestamp.valueOf(saleDate)});
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO sales (id, store_id, total_amount, sale_date) VALUES (?, ?, ?, ?)", rows);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Sale getSale() {
+		return storeService.getSale(STORE_ID, randomSaleId());
+	}
+
+	@Benchmark
+	public CursorPage<SaleSummary> getSalesPage() {
+		return storeService.getSalesPage(STORE_ID, null, null, null, 20);
+	}
+
+	@Benchmark
+	public void refundSale(RefundTarget target) {
+		storeService.refundSale(STORE_ID, target.saleId);
+	}
+
+	@Benchmark
+	public Sale storeCollection() {
+		Long saleId = randomSaleId();
+		return transactionTemplate.execute(status -> storeRepository.findById(STORE_ID).orElseThrow()
+				.getSales().stream()
+				.filter(sale -> sale.getId().equals(saleId))
+				.findFirst()
+				.orElseThrow());
+	}
+
+	private static Long randomSaleId() {
+		return FIRST_SALE_ID + ThreadLocalRandom.current().nextInt(SALES);
+	}
+}
@@ -0,0 +1,118 @@
+package me.sarismart.backend.Service;
+
+import me.sarismart.backend.BenchmarkContext;
+import me.sarismart.backend.Entity.Product;
+import me.sarismart.backend.Repository.ProductRepository;
+import me.sarismart.backend.Repository.StoreRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Single-product writes in a store with 5,000 products. storeCollection is the
+// lookup these paths used before: load the store's whole product list and
+// filter it for the one product.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StoreProductBenchmark {
+
+	private static final long STORE_ID = 1_000_000L;
+	private static final long FIRST_PRODUCT_ID = 1_000_000L;
+	private static final int PRODUCTS = 5_000;
+
+	private ConfigurableApplicationContext context;
+	private StoreService storeService;
+	private StoreRepository storeRepository;
+	private ProductRepository productRepository;
+	private TransactionTemplate transactionTemplate;
+
+	@Setup
+	public void setUp() {
+		context = BenchmarkContext.start();
+		storeService = context.getBean(StoreService.class);
+		storeRepository = context.getBean(StoreRepository.class);
+		productRepository = context.getBean(ProductRepository.class);
+		transactionTemplate = context.getBean(TransactionTemplate.class);
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+		String ownerId = BenchmarkContext.signInNewUser(jdbcTemplate);
+		BenchmarkContext.insertStore(jdbcTemplate, STORE_ID, ownerId, 10.3157, 123.8854);
+		List<Object[]> rows = new ArrayList<>(PRODUCTS);
+		for (int i = 0; i < PRODUCTS; i++) {
+			long id = FIRST_PRODUCT_ID + i;
+			rows.add(new Object[]{id, String.valueOf(4800000000000L + i), "Product " + i, "Groceries", 25.0, 100, 10, STORE_ID});
+		}
+		jdbcTemplate.batchUpdate("""
+				INSERT INTO products (id, barcode, name, category, price, stock, sold, revenue, reorder_level, store_id)
+				VALUES (?, ?, ?, ?, ?, ?, 0, 0, ?, ?)
+				""", rows);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public Product modifyProduct() {
+		return storeService.modifyProduct(STORE_ID, randomProductId(), edit());
+	}
+
+	@Benchmark
+	public void adjustStock() {
+		storeService.adjustStock(STORE_ID, randomProductId(), 1);
+	}
+
+	@Benchmark
+	public void setReorderLevel() {
+		storeService.setReorderLevel(STORE_ID, randomProductId(), 20);
+	}
+
+	@Benchmark
+	public Product storeCollection() {
+		Long productId = randomProductId();
+		Product edit = edit();
+		return transactionTemplate.execute(status -> {
+			Product existingProduct = storeRepository.findById(STORE_ID).orElseThrow()
+					.getProducts().stream()
+					.filter(product -> product.getId().equals(productId))
+					.findFirst()
+					.orElseThrow();
+			existingProduct.setName(edit.getName());
+			existingProduct.setCategory(edit.getCategory());
+			existingProduct.setDescription(edit.getDescription());
+			return productRepository.save(existingProduct);
+		});
+	}
+
+	private static Long randomProductId() {
+		return FIRST_PRODUCT_ID + ThreadLocalRandom.current().nextInt(PRODUCTS);
+	}
+
+	private static Product edit() {
+		Product edit = new Product();
+		edit.setName("Product " + ThreadLocalRandom.current().nextInt());
+		edit.setCategory("Groceries");
+		edit.setDescription("Edited");
+		return edit;
+	}
+}
@@ -0,0 +1,69 @@
+package me.sarismart.backend.Config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+
+@Configuration
+public class SupabaseClientConfig {
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager supabaseConnectionManager(
+            MeterRegistry meterRegistry,
+            @Value("${sarismart.supabase.http.max-connections:20}") int maxConnections,
+            @Value("${sarismart.supabase.http.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${sarismart.supabase.http.read-timeout:PT5S}") Duration readTimeout) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .setTimeToLive(TimeValue.ofMinutes(5))
+                        .build())
+                .build();
+
+        Gauge.builder("sarismart.supabase.pool.leased", connectionManager, m -> m.getTotalStats().getLeased())
+                .register(meterRegistry);
+        Gauge.builder("sarismart.supabase.pool.available", connectionManager, m -> m.getTotalStats().getAvailable())
+                .register(meterRegistry);
+        Gauge.builder("sarismart.supabase.pool.pending", connectionManager, m -> m.getTotalStats().getPending())
+                .register(meterRegistry);
+        Gauge.builder("sarismart.supabase.pool.max", connectionManager, m -> m.getTotalStats().getMax())
+                .register(meterRegistry);
+
+        return connectionManager;
+    }
+
+    @Bean
+    public RestTemplate supabaseRestTemplate(
+            PoolingHttpClientConnectionManager supabaseConnectionManager,
+            @Value("${sarismart.supabase.http.read-timeout:PT5S}") Duration readTimeout,
+            @Value("${sarismart.supabase.http.pool-acquire-timeout:PT1S}") Duration poolAcquireTimeout) {
+        CloseableHttpClient httpClient = HttpClients.custom()
+                .setConnectionManager(supabaseConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolAcquireTimeout.toMillis()))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                        .build())
+                .evictIdleConnections(TimeValue.ofSeconds(30))
+                .evictExpiredConnections()
+                .build();
+
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(httpClient));
+    }
+}
@@ -13,9 +13,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Map;
+import java.util.Optional;
 
+import io.jsonwebtoken.Claims;
 import me.sarismart.backend.DTO.AuthRequest;
+import me.sarismart.backend.Security.JwtUtil;
 import me.sarismart.backend.Service.SupabaseAuthService;
+import me.sarismart.backend.Service.UserService;
 
 @RestController
 @RequestMapping("api/v1/auth")
@@ -24,6 +28,12 @@ public class AuthController {
     @Autowired
     private SupabaseAuthService supabaseAuthService;
 
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
     @GetMapping("/test")
     public ResponseEntity<String> test() {
         return ResponseEntity.ok("API is working!");
@@ -67,7 +77,7 @@ public class AuthController {
         }
     }
 
-    @Operation(summary = "Get User Details", description = "Retrieve the current user details from Supabase")
+    @Operation(summary = "Get User Details", description = "Retrieve the current user details, falling back to Supabase for users not stored locally")
     @GetMapping("/user")
     public ResponseEntity<Object> getUserDetails(@RequestHeader("Authorization") String authorizationHeader) {
         try {
@@ -77,6 +87,13 @@ public class AuthController {
             }
             String accessToken = authorizationHeader.substring(7);
 
+            // The filter already validated this token, so this is a claims cache hit.
+            Claims claims = jwtUtil.validateToken(accessToken);
+            Optional<Map<String, Object>> profile = userService.getUserProfile(claims);
+            if (profile.isPresent()) {
+                return ResponseEntity.ok(profile.get());
+            }
+
             return supabaseAuthService.getUserDetails(accessToken);
         } catch (Exception e) {
             e.printStackTrace();
@@ -2,17 +2,39 @@ package me.sarismart.backend.Controller;
 
 import me.sarismart.backend.Entity.Store;
 import me.sarismart.backend.DTO.StoreRequest;
+import me.sarismart.backend.DTO.CheckoutRequest;
+import me.sarismart.backend.DTO.CursorPage;
+import me.sarismart.backend.DTO.InventorySuggestion;
+import me.sarismart.backend.DTO.NearbyStore;
+import me.sarismart.backend.DTO.SaleReceipt;
+import me.sarismart.backend.DTO.SaleSummary;
+import me.sarismart.backend.DTO.SalesSeries;
+import me.sarismart.backend.DTO.StoreCluster;
+import me.sarismart.backend.DTO.StockAdjustmentEntry;
+import me.sarismart.backend.DTO.StockAdjustmentRequest;
+import me.sarismart.backend.DTO.StockLevel;
+import me.sarismart.backend.DTO.TopProducts;
 import me.sarismart.backend.Entity.Product;
 import me.sarismart.backend.Entity.Sale;
 import me.sarismart.backend.Entity.StockAdjustment;
 import me.sarismart.backend.Entity.Report;
 import me.sarismart.backend.Entity.User;
+import me.sarismart.backend.Service.ExportService;
+import me.sarismart.backend.Service.SalesReportService;
+import me.sarismart.backend.Service.SalesVelocityService;
+import me.sarismart.backend.Service.StoreClusterService;
 import me.sarismart.backend.Service.StoreService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,6 +46,18 @@ public class StoreController {
     @Autowired
     private StoreService storeService;
 
+    @Autowired
+    private StoreClusterService storeClusterService;
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private SalesReportService salesReportService;
+
+    @Autowired
+    private SalesVelocityService salesVelocityService;
+
     // REST Resource: v1.stores
     // Method: stores.create
     // Must be authenticated to create a store
@@ -41,6 +75,32 @@ public class StoreController {
         return storeService.getNearbyStores(latitude, longitude, radius);
     }
 
+    // Method: stores.getNearest
+    // Permit all users to get the k nearest stores, closest first
+    @Operation(summary = "Get Nearest Stores", description = "Retrieve the k stores closest to a location, ordered by distance")
+    @GetMapping("/nearest")
+    public List<NearbyStore> getNearestStores(@RequestParam double lat, @RequestParam double lon, @RequestParam(defaultValue = "10") int k) {
+        return storeService.getNearestStores(lat, lon, k);
+    }
+
+    // Method: stores.listNearby
+    // Permit all users to page through stores within a radius, closest first
+    @Operation(summary = "List Nearby Stores", description = "Retrieve a page of stores within a radius, ordered by distance")
+    @GetMapping("/nearby")
+    public CursorPage<NearbyStore> listNearbyStores(@RequestParam double lat, @RequestParam double lon, @RequestParam double radius,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "20") int limit) {
+        return storeService.getNearbyStoresPage(lat, lon, radius, cursor, limit);
+    }
+
+    // Method: stores.clusters
+    // Permit all users to get store clusters for a map viewport
+    @Operation(summary = "Get Store Clusters", description = "Retrieve pre-aggregated store clusters for a bounding box (minLon,minLat,maxLon,maxLat) and zoom level")
+    @GetMapping("/clusters")
+    public List<StoreCluster> getStoreClusters(@RequestParam String bbox, @RequestParam int zoom) {
+        return storeClusterService.getClusters(bbox, zoom);
+    }
+
     // Method: stores.get
     // Permit all users to get a store by ID
     @Operation(summary = "Get Store by ID", description = "Retrieve a store by its ID")
@@ -163,6 +223,14 @@ public class StoreController {
         storeService.adjustStock(storeId, productId, quantity);
     }
 
+    // Method: stores.products.bulkAdjustStock
+    // Must be authenticated to adjust the stock of several products in a store at once
+    @Operation(summary = "Bulk Adjust Product Stock", description = "Apply stock deltas to several products in one transaction and return their new stock levels")
+    @PatchMapping("/{storeId}/products/stock")
+    public List<StockLevel> bulkAdjustStock(@PathVariable Long storeId, @RequestBody List<StockAdjustmentRequest> adjustments) {
+        return storeService.bulkAdjustStock(storeId, adjustments);
+    }
+
     // Method: stores.products.getStockAdjustmentHistoryPerStore
     // Must be authenticated to get the stock adjustment history of a store
     @Operation(summary = "Get Stock Adjustment History of Store", description = "Retrieve the stock adjustment history of a store")
@@ -179,6 +247,30 @@ public class StoreController {
         return storeService.listStockAdjustmentsByProduct(storeId, productId);
     }
 
+    // Method: stores.products.listStockAdjustmentsPerStore
+    // Must be authenticated to page through the stock adjustments of a store
+    @Operation(summary = "List Stock Adjustments of Store (Paginated)", description = "Retrieve a page of stock adjustments in a store, newest first, optionally within [from, to)")
+    @GetMapping("/{storeId}/stock/adjustments")
+    public CursorPage<StockAdjustmentEntry> listStockAdjustmentsPageByStore(@PathVariable Long storeId,
+                                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                            @RequestParam(required = false) String cursor,
+                                                                            @RequestParam(defaultValue = "20") int limit) {
+        return storeService.getStockAdjustmentsPage(storeId, null, from, to, cursor, limit);
+    }
+
+    // Method: stores.products.listStockAdjustmentsPerProduct
+    // Must be authenticated to page through the stock adjustments of a product in a store
+    @Operation(summary = "List Stock Adjustments of a Product (Paginated)", description = "Retrieve a page of stock adjustments of a product in a store, newest first, optionally within [from, to)")
+    @GetMapping("/{storeId}/products/{productId}/stock/adjustments")
+    public CursorPage<StockAdjustmentEntry> listStockAdjustmentsPageByProduct(@PathVariable Long storeId, @PathVariable Long productId,
+                                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                              @RequestParam(required = false) String cursor,
+                                                                              @RequestParam(defaultValue = "20") int limit) {
+        return storeService.getStockAdjustmentsPage(storeId, productId, from, to, cursor, limit);
+    }
+
     // REST Resource: stores.transactions
     // Method: stores.transactions.createSale
     // Must be authenticated to create a sale transaction in a store
@@ -188,6 +280,14 @@ public class StoreController {
         storeService.createSale(storeId, sale);
     }
 
+    // Method: stores.transactions.checkout
+    // Must be authenticated to check out a sale with line items in a store
+    @Operation(summary = "Checkout Sale", description = "Record a sale with its line items, deducting stock and updating sold counts in one transaction")
+    @PostMapping("/{storeId}/transactions/checkout")
+    public SaleReceipt checkout(@PathVariable Long storeId, @RequestBody CheckoutRequest request) {
+        return storeService.checkout(storeId, request);
+    }
+
     // Method: stores.transactions.getSale
     // Must be authenticated to get a sale transaction by ID
     @Operation(summary = "Get Sale Transaction by ID", description = "Retrieve a sale transaction by its ID")
@@ -204,6 +304,18 @@ public class StoreController {
         return storeService.listSales(storeId);
     }
 
+    // Method: stores.transactions.listSalesPage
+    // Must be authenticated to page through the sale transactions of a store
+    @Operation(summary = "List Sale Transactions (Paginated)", description = "Retrieve a page of sale transactions in a store, newest first, optionally within [from, to)")
+    @GetMapping("/{storeId}/transactions/sales/history")
+    public CursorPage<SaleSummary> listSalesPage(@PathVariable Long storeId,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                 @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(defaultValue = "20") int limit) {
+        return storeService.getSalesPage(storeId, from, to, cursor, limit);
+    }
+
     // Method: stores.transactions.refundSale
     // Must be authenticated to refund a sale transaction in a store
     @Operation(summary = "Refund Sale Transaction", description = "Refund a sale transaction in a store")
@@ -229,6 +341,14 @@ public class StoreController {
         storeService.setReorderLevel(storeId, productId, level);
     }
 
+    // Method: stores.inventory.suggestions
+    // Must be authenticated to get reorder suggestions for a store
+    @Operation(summary = "Get Reorder Suggestions", description = "Retrieve each product's recent sales velocity, days of cover and suggested reorder level and quantity, lowest cover first")
+    @GetMapping("/{storeId}/inventory/suggestions")
+    public List<InventorySuggestion> inventorySuggestions(@PathVariable Long storeId) {
+        return salesVelocityService.getSuggestions(storeId);
+    }
+
     // REST Resource: stores.reports
     // Method: stores.reports.dailySales
     // Must be authenticated to get the daily sales report for a store
@@ -246,6 +366,36 @@ public class StoreController {
         return storeService.monthlySales(storeId);
     }
 
+    // Method: stores.reports.rebuildSalesSummary
+    // Must be authenticated as the store owner to rebuild the store's daily sales rollup
+    @Operation(summary = "Rebuild Daily Sales Summary", description = "Recompute the store's daily sales rollup from its sales, e.g. after a manual data fix")
+    @PostMapping("/{storeId}/reports/daily-summary/rebuild")
+    public void rebuildSalesSummary(@PathVariable Long storeId) {
+        storeService.rebuildSalesSummary(storeId);
+    }
+
+    // Method: stores.reports.salesSeries
+    // Must be authenticated to get a time-bucketed sales series for a store
+    @Operation(summary = "Get Sales Series", description = "Retrieve sales totals per hour/day/week/month within [from, to), in the given timezone, with empty buckets included")
+    @GetMapping("/{storeId}/reports/sales")
+    public SalesSeries salesSeries(@PathVariable Long storeId,
+                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                   @RequestParam(defaultValue = "day") String bucket,
+                                   @RequestParam(required = false) String timezone) {
+        return salesReportService.getSalesSeries(storeId, from, to, bucket, timezone);
+    }
+
+    // Method: stores.reports.topProducts
+    // Must be authenticated to get the best-selling products of a store
+    @Operation(summary = "Get Top Products", description = "Retrieve the best-selling products of the current day/week/month, or of all time, ranked by units sold")
+    @GetMapping("/{storeId}/reports/top-products")
+    public TopProducts topProducts(@PathVariable Long storeId,
+                                   @RequestParam(defaultValue = "month") String period,
+                                   @RequestParam(defaultValue = "10") int limit) {
+        return salesReportService.getTopProducts(storeId, period, limit);
+    }
+
     // Method: stores.reports.inventory
     // Must be authenticated to get the inventory status report for a store
     @Operation(summary = "Get Inventory Status Report", description = "Retrieve the inventory status report for a store")
@@ -253,4 +403,43 @@ public class StoreController {
     public List<Product> inventoryStatus(@PathVariable Long storeId) {
         return storeService.inventoryStatus(storeId);
     }
+
+    // REST Resource: stores.exports
+    // Method: stores.exports.sales
+    // Must be the store owner to export the sales of a store
+    @Operation(summary = "Export Sales", description = "Stream the sales of a store within [from, to) as NDJSON or CSV, optionally gzipped")
+    @GetMapping("/{storeId}/exports/sales")
+    public ResponseEntity<StreamingResponseBody> exportSales(@PathVariable Long storeId,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                             @RequestParam(defaultValue = "ndjson") String format,
+                                                             @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportService.Format exportFormat = ExportService.Format.parse(format);
+        StreamingResponseBody body = exportService.exportSales(storeId, from, to, exportFormat, gzip);
+        return exportResponse("sales-" + storeId, exportFormat, gzip, body);
+    }
+
+    // Method: stores.exports.stockAdjustments
+    // Must be the store owner to export the stock adjustment ledger of a store
+    @Operation(summary = "Export Stock Adjustments", description = "Stream the stock adjustments of a store within [from, to) as NDJSON or CSV, optionally gzipped")
+    @GetMapping("/{storeId}/exports/stock-adjustments")
+    public ResponseEntity<StreamingResponseBody> exportStockAdjustments(@PathVariable Long storeId,
+                                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+                                                                        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+                                                                        @RequestParam(defaultValue = "ndjson") String format,
+                                                                        @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportService.Format exportFormat = ExportService.Format.parse(format);
+        StreamingResponseBody body = exportService.exportStockAdjustments(storeId, from, to, exportFormat, gzip);
+        return exportResponse("stock-adjustments-" + storeId, exportFormat, gzip, body);
+    }
+
+    private ResponseEntity<StreamingResponseBody> exportResponse(String baseName, ExportService.Format format,
+                                                                 boolean gzip, StreamingResponseBody body) {
+        String fileName = baseName + "." + format.extension() + (gzip ? ".gz" : "");
+        MediaType contentType = MediaType.parseMediaType(gzip ? "application/gzip" : format.contentType());
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(contentType)
+                .body(body);
+    }
 }
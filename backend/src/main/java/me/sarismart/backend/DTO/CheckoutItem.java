@@ -0,0 +1,13 @@
+package me.sarismart.backend.DTO;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutItem {
+    private Long productId;
+    private int quantity;
+    private double unitPrice;
+}
@@ -0,0 +1,12 @@
+package me.sarismart.backend.DTO;
+
+import lombok.*;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CheckoutRequest {
+    private List<CheckoutItem> items;
+}
@@ -0,0 +1,20 @@
+package me.sarismart.backend.DTO;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventorySuggestion {
+    private Long productId;
+    private String name;
+    private int stock;
+    private int reorderLevel;
+    // Units per day, exponentially weighted towards recent sales.
+    private double dailyVelocity;
+    // Days the current stock lasts at that rate; null when the product is not selling.
+    private Double daysOfCover;
+    private int suggestedReorderLevel;
+    private int suggestedReorderQuantity;
+}
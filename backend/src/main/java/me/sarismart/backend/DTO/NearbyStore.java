@@ -0,0 +1,13 @@
+package me.sarismart.backend.DTO;
+
+import lombok.*;
+import me.sarismart.backend.Entity.Store;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NearbyStore {
+    private Store store;
+    private double distanceKm;
+}
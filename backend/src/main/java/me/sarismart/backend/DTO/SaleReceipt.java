@@ -0,0 +1,16 @@
+package me.sarismart.backend.DTO;
+
+import lombok.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaleReceipt {
+    private Long saleId;
+    private double totalAmount;
+    private LocalDateTime saleDate;
+    private List<StockLevel> stockLevels;
+}
@@ -0,0 +1,14 @@
+package me.sarismart.backend.DTO;
+
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaleSummary {
+    private Long id;
+    private double totalAmount;
+    private LocalDateTime saleDate;
+}
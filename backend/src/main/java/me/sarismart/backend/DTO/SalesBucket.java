@@ -0,0 +1,14 @@
+package me.sarismart.backend.DTO;
+
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesBucket {
+    private LocalDateTime start;
+    private double totalSales;
+    private long totalTransactions;
+}
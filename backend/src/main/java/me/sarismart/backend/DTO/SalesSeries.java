@@ -0,0 +1,14 @@
+package me.sarismart.backend.DTO;
+
+import lombok.*;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalesSeries {
+    private String bucket;
+    private String timezone;
+    private List<SalesBucket> buckets;
+}
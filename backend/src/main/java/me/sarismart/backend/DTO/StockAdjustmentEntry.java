@@ -0,0 +1,19 @@
+package me.sarismart.backend.DTO;
+
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAdjustmentEntry {
+    private Long id;
+    private Long productId;
+    private String productName;
+    private String userId;
+    private String userName;
+    private int oldStock;
+    private int newStock;
+    private LocalDateTime timestamp;
+}
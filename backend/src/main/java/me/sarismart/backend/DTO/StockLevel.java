@@ -0,0 +1,12 @@
+package me.sarismart.backend.DTO;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockLevel {
+    private Long productId;
+    private int stock;
+}
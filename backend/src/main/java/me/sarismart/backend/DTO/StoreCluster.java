@@ -0,0 +1,15 @@
+package me.sarismart.backend.DTO;
+
+import lombok.*;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoreCluster {
+    private double latitude;
+    private double longitude;
+    private int count;
+    private List<Long> storeIds;
+}
@@ -0,0 +1,7 @@
+package me.sarismart.backend.DTO;
+
+public interface StoreLocation {
+    Long getId();
+    double getLatitude();
+    double getLongitude();
+}
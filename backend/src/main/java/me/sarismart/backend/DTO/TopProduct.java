@@ -0,0 +1,14 @@
+package me.sarismart.backend.DTO;
+
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopProduct {
+    private Long productId;
+    private String name;
+    private long quantity;
+    private double revenue;
+}
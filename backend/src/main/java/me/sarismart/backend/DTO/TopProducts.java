@@ -0,0 +1,16 @@
+package me.sarismart.backend.DTO;
+
+import lombok.*;
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopProducts {
+    private String period;
+    // First day of the period; null for all-time rankings.
+    private LocalDate periodStart;
+    private List<TopProduct> products;
+}
@@ -0,0 +1,29 @@
+package me.sarismart.backend.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Per-store, per-day rollup of sales, kept in step with the sales table by
+// SalesSummaryService so reports read one row per day instead of every sale.
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "daily_sales_summary")
+public class DailySalesSummary {
+    @EmbeddedId
+    private DailySalesSummaryId id;
+
+    @Column(nullable = false)
+    private double totalAmount;
+
+    @Column(nullable = false)
+    private int saleCount;
+
+    @Column(nullable = false)
+    private double minTicket;
+
+    @Column(nullable = false)
+    private double maxTicket;
+}
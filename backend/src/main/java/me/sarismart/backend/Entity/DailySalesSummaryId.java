@@ -0,0 +1,20 @@
+package me.sarismart.backend.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class DailySalesSummaryId implements Serializable {
+    @Column(name = "store_id", nullable = false)
+    private Long storeId;
+
+    @Column(name = "sale_day", nullable = false)
+    private LocalDate saleDay;
+}
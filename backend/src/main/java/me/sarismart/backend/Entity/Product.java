@@ -2,16 +2,25 @@ package me.sarismart.backend.Entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
+// stock, sold and revenue move only through atomic UPDATEs in ProductRepository.
+// Dynamic updates make a save of an edited product write just the columns it
+// changed, so it cannot overwrite a concurrent checkout with stale counters.
 @Entity
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "products")
+@Table(name = "products", indexes = {
+    @Index(name = "idx_products_store_id_id", columnList = "store_id, id"),
+    @Index(name = "idx_products_store_id_sold", columnList = "store_id, sold")
+})
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "products_seq")
+    @SequenceGenerator(name = "products_seq", sequenceName = "products_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -30,6 +39,9 @@ public class Product {
     private int stock;
 
     private int sold;
+
+    // Total of quantity * unit price over the product's sales, net of refunds.
+    private double revenue;
     
     private int reorderLevel;
 
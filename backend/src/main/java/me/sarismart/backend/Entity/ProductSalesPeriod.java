@@ -0,0 +1,26 @@
+package me.sarismart.backend.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Units sold and revenue per product for one day, week or month of a store,
+// kept in step with checkouts and refunds by ProductSalesService so top-product
+// reports read counters instead of line items.
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "product_sales_periods", indexes = {
+    @Index(name = "idx_product_sales_periods_top", columnList = "store_id, period_type, period_start, quantity")
+})
+public class ProductSalesPeriod {
+    @EmbeddedId
+    private ProductSalesPeriodId id;
+
+    @Column(nullable = false)
+    private long quantity;
+
+    @Column(nullable = false)
+    private double revenue;
+}
@@ -0,0 +1,27 @@
+package me.sarismart.backend.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class ProductSalesPeriodId implements Serializable {
+    @Column(name = "store_id", nullable = false)
+    private Long storeId;
+
+    // DAY, WEEK or MONTH.
+    @Column(name = "period_type", nullable = false, length = 8)
+    private String periodType;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+}
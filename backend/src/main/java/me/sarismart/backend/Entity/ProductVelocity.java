@@ -0,0 +1,31 @@
+package me.sarismart.backend.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+// Exponentially weighted sales rate of a product in units per day, as of
+// updatedAt. Maintained incrementally by SalesVelocityService; readers decay it
+// to the current time.
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "product_velocity", indexes = {
+    @Index(name = "idx_product_velocity_store_id", columnList = "store_id")
+})
+public class ProductVelocity {
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "store_id", nullable = false)
+    private Long storeId;
+
+    @Column(nullable = false)
+    private double velocity;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
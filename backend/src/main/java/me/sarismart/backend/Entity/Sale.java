@@ -3,16 +3,21 @@ package me.sarismart.backend.Entity;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "sales")
+@Table(name = "sales", indexes = {
+    @Index(name = "idx_sales_store_id_sale_date_id", columnList = "store_id, sale_date, id")
+})
 public class Sale {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sales_seq")
+    @SequenceGenerator(name = "sales_seq", sequenceName = "sales_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -24,4 +29,7 @@ public class Sale {
 
     @Column(nullable = false)
     private LocalDateTime saleDate;
+
+    @OneToMany(mappedBy = "sale", cascade = CascadeType.ALL, orphanRemoval = true)
+    private List<SaleItem> items = new ArrayList<>();
 }
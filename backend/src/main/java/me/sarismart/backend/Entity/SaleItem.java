@@ -0,0 +1,37 @@
+package me.sarismart.backend.Entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "sale_items", indexes = {
+    @Index(name = "idx_sale_items_sale_id", columnList = "sale_id")
+})
+public class SaleItem {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sale_items_seq")
+    @SequenceGenerator(name = "sale_items_seq", sequenceName = "sale_items_seq", allocationSize = 50)
+    private Long id;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "sale_id", nullable = false)
+    private Sale sale;
+
+    @JsonIgnoreProperties({"store", "hibernateLazyInitializer", "handler"})
+    @ManyToOne
+    @JoinColumn(name = "product_id", nullable = false)
+    private Product product;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    @Column(nullable = false)
+    private double unitPrice;
+}
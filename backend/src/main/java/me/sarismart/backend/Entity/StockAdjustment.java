@@ -9,22 +9,27 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "stock_adjustments")
+@Table(name = "stock_adjustments", indexes = {
+    @Index(name = "idx_stock_adjustments_store_timestamp", columnList = "store_id, timestamp, id"),
+    @Index(name = "idx_stock_adjustments_store_product_timestamp", columnList = "store_id, product_id, timestamp, id")
+})
 public class StockAdjustment {
 
+    // Sequence ids let Hibernate batch ledger inserts; IDENTITY forces one round trip per row.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_adjustments_seq")
+    @SequenceGenerator(name = "stock_adjustments_seq", sequenceName = "stock_adjustments_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "store_id", nullable = false)
     private Store store;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
 
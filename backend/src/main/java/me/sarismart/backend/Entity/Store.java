@@ -11,10 +11,13 @@ import java.util.ArrayList;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "stores")
+@Table(name = "stores", indexes = {
+    @Index(name = "idx_stores_latitude_longitude", columnList = "latitude, longitude")
+})
 public class Store {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stores_seq")
+    @SequenceGenerator(name = "stores_seq", sequenceName = "stores_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, unique = true)
@@ -37,7 +40,11 @@ public class Store {
     @JoinTable(
         name = "store_workers",
         joinColumns = @JoinColumn(name = "store_id"),
-        inverseJoinColumns = @JoinColumn(name = "worker_id")
+        inverseJoinColumns = @JoinColumn(name = "worker_id"),
+        indexes = {
+            @Index(name = "idx_store_workers_store_worker", columnList = "store_id, worker_id"),
+            @Index(name = "idx_store_workers_worker", columnList = "worker_id")
+        }
     )
     private List<User> workers = new ArrayList<>();
 
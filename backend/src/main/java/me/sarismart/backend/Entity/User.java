@@ -1,5 +1,6 @@
 package me.sarismart.backend.Entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import java.util.ArrayList;
@@ -21,6 +22,7 @@ public class User {
 
     private String phone;
 
+    @JsonIgnore
     @ManyToMany(mappedBy = "workers")
     private List<Store> stores = new ArrayList<>();
 }
\ No newline at end of file
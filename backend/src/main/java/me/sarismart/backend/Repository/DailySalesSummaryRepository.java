@@ -0,0 +1,63 @@
+package me.sarismart.backend.Repository;
+
+import me.sarismart.backend.Entity.DailySalesSummary;
+import me.sarismart.backend.Entity.DailySalesSummaryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DailySalesSummaryRepository extends JpaRepository<DailySalesSummary, DailySalesSummaryId> {
+    @Query("SELECT d FROM DailySalesSummary d WHERE d.id.storeId = :storeId AND d.id.saleDay >= :from AND d.id.saleDay < :to ORDER BY d.id.saleDay")
+    List<DailySalesSummary> findByStoreIdAndDayRange(@Param("storeId") Long storeId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT d FROM DailySalesSummary d WHERE d.id.saleDay >= :from AND d.id.saleDay < :to")
+    List<DailySalesSummary> findByDayRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Adds one sale to its day's row, creating the row on the first sale of the day.
+    @Modifying
+    @Query(value = """
+        INSERT INTO daily_sales_summary (store_id, sale_day, total_amount, sale_count, min_ticket, max_ticket)
+        VALUES (:storeId, :saleDay, :amount, 1, :amount, :amount)
+        ON CONFLICT (store_id, sale_day) DO UPDATE SET
+            total_amount = daily_sales_summary.total_amount + EXCLUDED.total_amount,
+            sale_count = daily_sales_summary.sale_count + 1,
+            min_ticket = LEAST(daily_sales_summary.min_ticket, EXCLUDED.min_ticket),
+            max_ticket = GREATEST(daily_sales_summary.max_ticket, EXCLUDED.max_ticket)
+        """, nativeQuery = true)
+    void addSale(@Param("storeId") Long storeId, @Param("saleDay") LocalDate saleDay, @Param("amount") double amount);
+
+    @Modifying
+    @Query("DELETE FROM DailySalesSummary d WHERE d.id.storeId = :storeId AND d.id.saleDay >= :from AND d.id.saleDay < :to")
+    int deleteByStoreIdAndDayRange(@Param("storeId") Long storeId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Modifying
+    @Query("DELETE FROM DailySalesSummary d WHERE d.id.storeId = :storeId")
+    int deleteByStoreId(@Param("storeId") Long storeId);
+
+    // Recomputes the rows for sales in [start, end) from the sales table. Callers
+    // delete the affected rows first.
+    @Modifying
+    @Query(value = """
+        INSERT INTO daily_sales_summary (store_id, sale_day, total_amount, sale_count, min_ticket, max_ticket)
+        SELECT store_id, CAST(sale_date AS date), SUM(total_amount), COUNT(*), MIN(total_amount), MAX(total_amount)
+        FROM sales
+        WHERE store_id = :storeId AND sale_date >= :start AND sale_date < :end
+        GROUP BY store_id, CAST(sale_date AS date)
+        """, nativeQuery = true)
+    int rebuildStoreRange(@Param("storeId") Long storeId, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // [storeId, day, total, count, min, max] straight from the sales table, for the consistency check.
+    @Query(value = """
+        SELECT store_id, CAST(sale_date AS date), SUM(total_amount), COUNT(*), MIN(total_amount), MAX(total_amount)
+        FROM sales
+        WHERE sale_date >= :start AND sale_date < :end
+        GROUP BY store_id, CAST(sale_date AS date)
+        """, nativeQuery = true)
+    List<Object[]> aggregateSales(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+}
@@ -1,9 +1,70 @@
 package me.sarismart.backend.Repository;
 
+import me.sarismart.backend.DTO.TopProduct;
 import me.sarismart.backend.Entity.Product;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
+    Optional<Product> findByIdAndStoreId(Long id, Long storeId);
+
+    List<Product> findByStoreId(Long storeId);
+
+    boolean existsByIdAndStoreId(Long id, Long storeId);
+
+    @Modifying
+    @Query("UPDATE Product p SET p.reorderLevel = :level WHERE p.id = :productId AND p.store.id = :storeId")
+    int updateReorderLevel(@Param("storeId") Long storeId, @Param("productId") Long productId, @Param("level") int level);
+
+    // Applied in the database so concurrent adjustments serialize on the row lock
+    // instead of overwriting each other's read-modify-write.
+    @Modifying
+    @Query("UPDATE Product p SET p.stock = p.stock + :delta WHERE p.id = :productId AND p.store.id = :storeId")
+    int addStock(@Param("storeId") Long storeId, @Param("productId") Long productId, @Param("delta") int delta);
+
+    // Updates nothing when the product is missing or has less than quantity in
+    // stock, so a checkout can never oversell.
+    @Modifying
+    @Query("""
+        UPDATE Product p
+        SET p.stock = p.stock - :quantity, p.sold = p.sold + :quantity, p.revenue = p.revenue + :quantity * :unitPrice
+        WHERE p.id = :productId AND p.store.id = :storeId AND p.stock >= :quantity
+        """)
+    int recordSale(@Param("storeId") Long storeId, @Param("productId") Long productId,
+                   @Param("quantity") int quantity, @Param("unitPrice") double unitPrice);
+
+    // Puts back the stock, sold and revenue of every line item of a sale in one statement.
+    @Modifying
+    @Query("""
+        UPDATE Product p
+        SET p.stock = p.stock + (SELECT SUM(i.quantity) FROM SaleItem i WHERE i.sale.id = :saleId AND i.product.id = p.id),
+            p.sold = p.sold - (SELECT SUM(i.quantity) FROM SaleItem i WHERE i.sale.id = :saleId AND i.product.id = p.id),
+            p.revenue = p.revenue - (SELECT SUM(i.quantity * i.unitPrice) FROM SaleItem i WHERE i.sale.id = :saleId AND i.product.id = p.id)
+        WHERE p.store.id = :storeId
+        AND p.id IN (SELECT i.product.id FROM SaleItem i WHERE i.sale.id = :saleId)
+        """)
+    int restockSale(@Param("storeId") Long storeId, @Param("saleId") Long saleId);
+
+    // All-time ranking straight from the sold counters, via idx_products_store_id_sold.
+    @Query("""
+        SELECT new me.sarismart.backend.DTO.TopProduct(p.id, p.name, CAST(p.sold AS Long), p.revenue)
+        FROM Product p
+        WHERE p.store.id = :storeId AND p.sold > 0
+        ORDER BY p.sold DESC, p.revenue DESC, p.id
+        """)
+    List<TopProduct> findTopSellers(@Param("storeId") Long storeId, Pageable pageable);
+
+    @Query("SELECT p.stock FROM Product p WHERE p.id = :productId")
+    int findStockById(@Param("productId") Long productId);
+
+    @Modifying
+    @Query("DELETE FROM Product p WHERE p.id = :productId AND p.store.id = :storeId")
+    int deleteByIdAndStoreId(@Param("productId") Long productId, @Param("storeId") Long storeId);
 }
@@ -0,0 +1,80 @@
+package me.sarismart.backend.Repository;
+
+import me.sarismart.backend.DTO.TopProduct;
+import me.sarismart.backend.Entity.ProductSalesPeriod;
+import me.sarismart.backend.Entity.ProductSalesPeriodId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ProductSalesPeriodRepository extends JpaRepository<ProductSalesPeriod, ProductSalesPeriodId> {
+    // Adds one line item to its product's day, week and month counters in one
+    // statement, creating the rows on the product's first sale of the period.
+    @Modifying
+    @Query(value = """
+        INSERT INTO product_sales_periods (store_id, period_type, period_start, product_id, quantity, revenue)
+        VALUES (:storeId, 'DAY', :day, :productId, :quantity, :revenue),
+               (:storeId, 'WEEK', :week, :productId, :quantity, :revenue),
+               (:storeId, 'MONTH', :month, :productId, :quantity, :revenue)
+        ON CONFLICT (store_id, period_type, period_start, product_id) DO UPDATE SET
+            quantity = product_sales_periods.quantity + EXCLUDED.quantity,
+            revenue = product_sales_periods.revenue + EXCLUDED.revenue
+        """, nativeQuery = true)
+    void addSale(@Param("storeId") Long storeId,
+                 @Param("productId") Long productId,
+                 @Param("day") LocalDate day,
+                 @Param("week") LocalDate week,
+                 @Param("month") LocalDate month,
+                 @Param("quantity") int quantity,
+                 @Param("revenue") double revenue);
+
+    // Takes a sale's line items back out of the counters of the periods it fell
+    // in. Must run before the line items are deleted. Written like restockSale,
+    // with correlated subqueries, so it also runs on the H2 test database.
+    @Modifying
+    @Query("""
+        UPDATE ProductSalesPeriod c
+        SET c.quantity = c.quantity - (SELECT SUM(i.quantity) FROM SaleItem i WHERE i.sale.id = :saleId AND i.product.id = c.id.productId),
+            c.revenue = c.revenue - (SELECT SUM(i.quantity * i.unitPrice) FROM SaleItem i WHERE i.sale.id = :saleId AND i.product.id = c.id.productId)
+        WHERE c.id.storeId = :storeId
+        AND c.id.productId IN (SELECT i.product.id FROM SaleItem i WHERE i.sale.id = :saleId)
+        AND ((c.id.periodType = 'DAY' AND c.id.periodStart = :day)
+          OR (c.id.periodType = 'WEEK' AND c.id.periodStart = :week)
+          OR (c.id.periodType = 'MONTH' AND c.id.periodStart = :month))
+        """)
+    int removeSale(@Param("storeId") Long storeId,
+                   @Param("saleId") Long saleId,
+                   @Param("day") LocalDate day,
+                   @Param("week") LocalDate week,
+                   @Param("month") LocalDate month);
+
+    // Walks idx_product_sales_periods_top backwards and stops after the page.
+    @Query("""
+        SELECT new me.sarismart.backend.DTO.TopProduct(p.id, p.name, c.quantity, c.revenue)
+        FROM ProductSalesPeriod c, Product p
+        WHERE c.id.storeId = :storeId
+        AND c.id.periodType = :periodType
+        AND c.id.periodStart = :periodStart
+        AND c.quantity > 0
+        AND p.id = c.id.productId
+        ORDER BY c.quantity DESC, c.revenue DESC, p.id
+        """)
+    List<TopProduct> findTop(@Param("storeId") Long storeId,
+                             @Param("periodType") String periodType,
+                             @Param("periodStart") LocalDate periodStart,
+                             Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM ProductSalesPeriod c WHERE c.id.storeId = :storeId")
+    int deleteByStoreId(@Param("storeId") Long storeId);
+
+    @Modifying
+    @Query("DELETE FROM ProductSalesPeriod c WHERE c.id.periodStart < :before")
+    int deleteOlderThan(@Param("before") LocalDate before);
+}
@@ -0,0 +1,39 @@
+package me.sarismart.backend.Repository;
+
+import me.sarismart.backend.Entity.ProductVelocity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProductVelocityRepository extends JpaRepository<ProductVelocity, Long> {
+    List<ProductVelocity> findByStoreId(Long storeId);
+
+    // Folds units sold at :at into the product's rate in one atomic statement:
+    // both the stored rate and the new contribution are decayed to the later of
+    // their two timestamps and added, so events may arrive in any order. Negative
+    // units take a refunded sale back out. The sum is stored signed, so a refund
+    // handled before its sale nets out exactly; readers clamp at zero.
+    @Modifying
+    @Query(value = """
+        INSERT INTO product_velocity (product_id, store_id, velocity, updated_at)
+        VALUES (:productId, :storeId, :units * :decayPerDay, :at)
+        ON CONFLICT (product_id) DO UPDATE SET
+            velocity = product_velocity.velocity * EXP(-:decayPerDay * GREATEST(EXTRACT(EPOCH FROM (EXCLUDED.updated_at - product_velocity.updated_at)), 0) / 86400.0)
+                + EXCLUDED.velocity * EXP(-:decayPerDay * GREATEST(EXTRACT(EPOCH FROM (product_velocity.updated_at - EXCLUDED.updated_at)), 0) / 86400.0),
+            updated_at = GREATEST(product_velocity.updated_at, EXCLUDED.updated_at)
+        """, nativeQuery = true)
+    void addUnits(@Param("productId") Long productId,
+                  @Param("storeId") Long storeId,
+                  @Param("units") int units,
+                  @Param("at") LocalDateTime at,
+                  @Param("decayPerDay") double decayPerDay);
+
+    @Modifying
+    @Query("DELETE FROM ProductVelocity v WHERE v.storeId = :storeId")
+    int deleteByStoreId(@Param("storeId") Long storeId);
+}
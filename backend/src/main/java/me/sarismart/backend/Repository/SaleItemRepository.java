@@ -0,0 +1,20 @@
+package me.sarismart.backend.Repository;
+
+import me.sarismart.backend.Entity.SaleItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface SaleItemRepository extends JpaRepository<SaleItem, Long> {
+    // One row per product in the sale: [productId, current stock, total quantity sold]
+    @Query("SELECT i.product.id, i.product.stock, SUM(i.quantity) FROM SaleItem i WHERE i.sale.id = :saleId GROUP BY i.product.id, i.product.stock")
+    List<Object[]> findStockLevelsBySaleId(@Param("saleId") Long saleId);
+
+    @Modifying
+    @Query("DELETE FROM SaleItem i WHERE i.sale.id = :saleId")
+    int deleteBySaleId(@Param("saleId") Long saleId);
+}
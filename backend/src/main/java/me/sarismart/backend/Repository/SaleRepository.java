@@ -1,12 +1,65 @@
 package me.sarismart.backend.Repository;
 
+import me.sarismart.backend.DTO.SaleSummary;
+import jakarta.persistence.LockModeType;
 import me.sarismart.backend.Entity.Sale;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface SaleRepository extends JpaRepository<Sale, Long> {
     List<Sale> findByStoreIdAndSaleDateBetween(Long storeId, LocalDateTime start, LocalDateTime end);
+    List<Sale> findByStoreId(Long storeId);
+    Optional<Sale> findByIdAndStoreId(Long id, Long storeId);
+
+    // SELECT ... FOR UPDATE: a second refund of the same sale waits here until the
+    // first commits, then no longer finds the sale.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Sale s WHERE s.id = :saleId AND s.store.id = :storeId")
+    Optional<Sale> lockByIdAndStoreId(@Param("saleId") Long saleId, @Param("storeId") Long storeId);
+
+    // Newest first within [from, to), resuming strictly after the (afterDate, afterId) keyset.
+    @Query("""
+        SELECT new me.sarismart.backend.DTO.SaleSummary(s.id, s.totalAmount, s.saleDate)
+        FROM Sale s
+        WHERE s.store.id = :storeId
+        AND s.saleDate >= :from AND s.saleDate < :to
+        AND (s.saleDate < :afterDate OR (s.saleDate = :afterDate AND s.id < :afterId))
+        ORDER BY s.saleDate DESC, s.id DESC
+        """)
+    List<SaleSummary> findSalePage(@Param("storeId") Long storeId,
+                                   @Param("from") LocalDateTime from,
+                                   @Param("to") LocalDateTime to,
+                                   @Param("afterDate") LocalDateTime afterDate,
+                                   @Param("afterId") Long afterId,
+                                   Pageable pageable);
+
+    // [bucketStart, total, count] per non-empty bucket. sale_date is server-local
+    // time; it is moved to the report's timezone before truncating.
+    @Query(value = """
+        SELECT date_trunc(:bucket, (sale_date AT TIME ZONE :serverZone) AT TIME ZONE :zone) AS bucket_start,
+               SUM(total_amount), COUNT(*)
+        FROM sales
+        WHERE store_id = :storeId AND sale_date >= :start AND sale_date < :end
+        GROUP BY 1
+        ORDER BY 1
+        """, nativeQuery = true)
+    List<Object[]> aggregateByBucket(@Param("storeId") Long storeId,
+                                     @Param("start") LocalDateTime start,
+                                     @Param("end") LocalDateTime end,
+                                     @Param("bucket") String bucket,
+                                     @Param("serverZone") String serverZone,
+                                     @Param("zone") String zone);
+
+    @Modifying
+    @Query("DELETE FROM Sale s WHERE s.id = :saleId AND s.store.id = :storeId")
+    int deleteByIdAndStoreId(@Param("saleId") Long saleId, @Param("storeId") Long storeId);
 }
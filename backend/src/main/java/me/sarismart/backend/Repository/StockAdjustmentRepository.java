@@ -1,14 +1,57 @@
 package me.sarismart.backend.Repository;
 
+import me.sarismart.backend.DTO.StockAdjustmentEntry;
 import me.sarismart.backend.Entity.StockAdjustment;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface StockAdjustmentRepository extends JpaRepository<StockAdjustment, Long> {
+    @EntityGraph(attributePaths = {"store", "user", "product"})
     List<StockAdjustment> findByStoreId(Long storeId);
+
+    @EntityGraph(attributePaths = {"store", "user", "product"})
     List<StockAdjustment> findByStoreIdAndProductId(Long storeId, Long productId);
-}
\ No newline at end of file
+
+    // Newest first within [from, to), resuming strictly after the (afterTime, afterId) keyset.
+    @Query("""
+        SELECT new me.sarismart.backend.DTO.StockAdjustmentEntry(
+            a.id, p.id, p.name, u.supabaseUid, u.fullName, a.oldStock, a.newStock, a.timestamp)
+        FROM StockAdjustment a JOIN a.product p JOIN a.user u
+        WHERE a.store.id = :storeId
+        AND a.timestamp >= :from AND a.timestamp < :to
+        AND (a.timestamp < :afterTime OR (a.timestamp = :afterTime AND a.id < :afterId))
+        ORDER BY a.timestamp DESC, a.id DESC
+        """)
+    List<StockAdjustmentEntry> findStorePage(@Param("storeId") Long storeId,
+                                             @Param("from") LocalDateTime from,
+                                             @Param("to") LocalDateTime to,
+                                             @Param("afterTime") LocalDateTime afterTime,
+                                             @Param("afterId") Long afterId,
+                                             Pageable pageable);
+
+    @Query("""
+        SELECT new me.sarismart.backend.DTO.StockAdjustmentEntry(
+            a.id, p.id, p.name, u.supabaseUid, u.fullName, a.oldStock, a.newStock, a.timestamp)
+        FROM StockAdjustment a JOIN a.product p JOIN a.user u
+        WHERE a.store.id = :storeId AND p.id = :productId
+        AND a.timestamp >= :from AND a.timestamp < :to
+        AND (a.timestamp < :afterTime OR (a.timestamp = :afterTime AND a.id < :afterId))
+        ORDER BY a.timestamp DESC, a.id DESC
+        """)
+    List<StockAdjustmentEntry> findProductPage(@Param("storeId") Long storeId,
+                                               @Param("productId") Long productId,
+                                               @Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to,
+                                               @Param("afterTime") LocalDateTime afterTime,
+                                               @Param("afterId") Long afterId,
+                                               Pageable pageable);
+}
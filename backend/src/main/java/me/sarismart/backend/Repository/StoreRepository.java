@@ -1,10 +1,13 @@
 package me.sarismart.backend.Repository;
 
+import me.sarismart.backend.DTO.StoreLocation;
 import me.sarismart.backend.Entity.Store;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -12,19 +15,13 @@ public interface StoreRepository extends JpaRepository<Store, Long> {
     List<Store> findByOwner_SupabaseUid(String supabaseUid);
     List<Store> findByWorkers_SupabaseUid(String supabaseUid);
 
-    @Query(value = """
-        SELECT * FROM stores
-        WHERE (
-            6371 * acos(
-                cos(radians(:latitude)) * cos(radians(latitude)) *
-                cos(radians(longitude) - radians(:longitude)) +
-                sin(radians(:latitude)) * sin(radians(latitude))
-            )
-        ) <= :radius
-        """, nativeQuery = true)
-    List<Store> findNearbyStores(
-        @Param("latitude") double latitude,
-        @Param("longitude") double longitude,
-        @Param("radius") double radius
-    );
+    @EntityGraph(attributePaths = {"owner", "workers"})
+    List<Store> findByIdIn(Collection<Long> ids);
+
+    @Query("SELECT s.id AS id, s.latitude AS latitude, s.longitude AS longitude FROM Store s")
+    List<StoreLocation> findAllLocations();
+
+    // One row per worker (or a single row with a null worker): [ownerUid, workerUid]
+    @Query("SELECT s.owner.supabaseUid, w.supabaseUid FROM Store s LEFT JOIN s.workers w WHERE s.id = :storeId")
+    List<Object[]> findMembershipRows(@Param("storeId") Long storeId);
 }
\ No newline at end of file
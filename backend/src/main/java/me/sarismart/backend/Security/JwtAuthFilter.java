@@ -5,7 +5,10 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -15,24 +18,28 @@ import org.springframework.lang.NonNull;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthFilter.class);
 
     @Autowired
     private JwtUtil jwtUtil;
 
+    // Successful authentications are logged for 1 in N requests; failures always are.
+    @Value("${sarismart.logging.auth-success-sample-rate:100}")
+    private int successSampleRate;
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request,
                                     @NonNull HttpServletResponse response,
                                     @NonNull FilterChain filterChain) throws ServletException, IOException {
 
         String authHeader = request.getHeader("Authorization");
-        System.out.println("Authorization header: " + authHeader);
 
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
-            System.out.println("Extracted token: " + token);
 
             try {
                 Claims claims = jwtUtil.validateToken(token);
@@ -40,11 +47,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 String userId = claims.getSubject();
                 String role = claims.get("role", String.class);
 
-                System.out.println("User ID: " + userId);
-                System.out.println("Role: " + role);
-
                 if (role == null) {
-                    System.out.println("Missing role claim in token");
                     throw new RuntimeException("Missing role claim in token");
                 }
 
@@ -54,19 +57,38 @@ public class JwtAuthFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
 
                 request.setAttribute("user_id", userId);
-                System.out.println("User ID set in request attribute: " + userId);
+
+                if (log.isDebugEnabled() && shouldSampleSuccess()) {
+                    log.atDebug()
+                            .addKeyValue("userId", userId)
+                            .addKeyValue("role", role)
+                            .addKeyValue("method", request.getMethod())
+                            .addKeyValue("path", request.getRequestURI())
+                            .log("Authenticated request");
+                }
 
             } catch (RuntimeException e) {
-                System.out.println("Token validation failed: " + e.getMessage());
+                log.atWarn()
+                        .addKeyValue("method", request.getMethod())
+                        .addKeyValue("path", request.getRequestURI())
+                        .addKeyValue("token", JwtUtil.redact(token))
+                        .log("Token validation failed: {}", e.getMessage());
                 SecurityContextHolder.clearContext();
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 response.getWriter().write("Invalid or expired token.");
                 return;
             }
-        } else {
-            System.out.println("Authorization header is missing or does not start with 'Bearer '");
+        } else if (log.isTraceEnabled()) {
+            log.atTrace()
+                    .addKeyValue("method", request.getMethod())
+                    .addKeyValue("path", request.getRequestURI())
+                    .log("No bearer token on request");
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private boolean shouldSampleSuccess() {
+        return successSampleRate <= 1 || ThreadLocalRandom.current().nextInt(successSampleRate) == 0;
+    }
 }
\ No newline at end of file
@@ -2,72 +2,125 @@ package me.sarismart.backend.Security;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
 import me.sarismart.backend.Config.AppConfig;
+import me.sarismart.backend.Util.BoundedCache;
+import me.sarismart.backend.Util.HashUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 
 @Component
 public class JwtUtil {
+    private static final Logger log = LoggerFactory.getLogger(JwtUtil.class);
+
     private final AppConfig appConfig;
+    private final JwtParser jwtParser;
+
+    // Validated claims keyed by token digest. Clients resend the same bearer token on
+    // every request until it expires, so each entry lives until the token's exp.
+    private final BoundedCache<String, Claims> claimsCache;
 
     @Autowired
-    public JwtUtil(AppConfig appConfig) {
+    public JwtUtil(AppConfig appConfig,
+                   MeterRegistry meterRegistry,
+                   @Value("${sarismart.cache.jwt-claims.max-entries:10000}") int maxCachedTokens,
+                   @Value("${sarismart.cache.jwt-claims.ttl:PT1H}") Duration maxCacheTtl) {
         this.appConfig = appConfig;
-        System.out.println("AppConfig URL: " + appConfig.getUrl());
-        System.out.println("AppConfig API Key: " + appConfig.getApiKey()); 
-        System.out.println("AppConfig Secret Key: " + appConfig.getSecretKey());
+        log.atInfo()
+                .addKeyValue("supabaseUrl", appConfig.getUrl())
+                .addKeyValue("apiKey", redact(appConfig.getApiKey()))
+                .addKeyValue("secretKeyConfigured", appConfig.getSecretKey() != null)
+                .log("JWT validation configured");
+
+        String secretKey = appConfig.getSecretKey();
+        this.jwtParser = secretKey == null ? null : Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(secretKey.getBytes()))
+                .build();
+        this.claimsCache = new BoundedCache<String, Claims>(maxCachedTokens, maxCacheTtl)
+                .registerMetrics(meterRegistry, "jwt-claims");
     }
 
     public Claims validateToken(String token) {
+        String tokenDigest = HashUtil.sha256(token);
+        Claims cachedClaims = claimsCache.get(tokenDigest);
+        if (cachedClaims != null) {
+            return cachedClaims;
+        }
+
+        Claims claims = parseAndValidate(token);
+        claimsCache.put(tokenDigest, claims, claims.getExpiration().getTime());
+        return claims;
+    }
+
+    private Claims parseAndValidate(String token) {
+        if (jwtParser == null) {
+            throw new RuntimeException("JWT secret key is not configured");
+        }
+
         try {
-            Key key = Keys.hmacShaKeyFor(appConfig.getSecretKey().getBytes());
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
+            Claims claims = jwtParser
                     .parseClaimsJws(token)
                     .getBody();
-            
-            System.out.println("Claims: " + claims);
+
+            log.atDebug()
+                    .addKeyValue("subject", claims.getSubject())
+                    .addKeyValue("issuer", claims.getIssuer())
+                    .addKeyValue("expiresAt", claims.getExpiration())
+                    .log("Parsed token claims");
 
             // Validate issuer (iss)
             String expectedIssuer = appConfig.getUrl() + "/auth/v1";
             if (!expectedIssuer.equals(claims.getIssuer())) {
-                System.out.println("Invalid issuer: " + claims.getIssuer());
+                log.atWarn().addKeyValue("issuer", claims.getIssuer()).log("Rejected token: invalid issuer");
                 throw new RuntimeException("Invalid issuer");
             }
     
             // Validate audience (aud)
             String expectedAudience = "authenticated";
             if (!expectedAudience.equals(claims.getAudience())) {
-                System.out.println("Invalid audience: " + claims.getAudience());
+                log.atWarn().addKeyValue("audience", claims.getAudience()).log("Rejected token: invalid audience");
                 throw new RuntimeException("Invalid audience");
             }
     
             // Validate expiration (exp)
             if (claims.getExpiration().before(new Date())) {
-                System.out.println("Token has expired: " + claims.getExpiration());
+                log.atDebug().addKeyValue("expiresAt", claims.getExpiration()).log("Rejected token: expired");
                 throw new RuntimeException("Token has expired");
             }
     
             // Validate subject (sub)
             if (claims.getSubject() == null || claims.getSubject().isEmpty()) {
-                System.out.println("Invalid or missing subject claim");
+                log.atWarn().log("Rejected token: invalid or missing subject claim");
                 throw new RuntimeException("Invalid or missing subject claim");
             }
-    
-            System.out.println("Token is valid");
+
             return claims;
         } catch (JwtException e) {
-            System.out.println("JWT Exception: " + e.getMessage());
+            log.atDebug().addKeyValue("reason", e.getClass().getSimpleName()).log("Rejected token: {}", e.getMessage());
             throw new RuntimeException("Invalid or expired token.");
         }
     }
 
+    // Keeps enough of a token or key to correlate log lines without leaking it.
+    public static String redact(String secret) {
+        if (secret == null) {
+            return null;
+        }
+        if (secret.length() <= 8) {
+            return "***";
+        }
+        return secret.substring(0, 4) + "..." + secret.substring(secret.length() - 4) + " (" + secret.length() + " chars)";
+    }
+
     public String getUserIdFromToken(String token) {
         return validateToken(token).getSubject();
     }
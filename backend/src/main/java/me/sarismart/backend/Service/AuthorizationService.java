@@ -1,24 +1,45 @@
 package me.sarismart.backend.Service;
 
-import me.sarismart.backend.Entity.Store;
+import me.sarismart.backend.Service.StoreMembershipService.Membership;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
 @Service
 public class AuthorizationService {
 
-    public void authorizeOwner(Store store, String currentUserId) {
-        if (!store.getOwner().getSupabaseUid().equals(currentUserId)) {
-            throw new RuntimeException("You are not authorized to perform this action");
+    @Autowired
+    private StoreMembershipService storeMembershipService;
+
+    public String getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()) {
+            throw new RuntimeException("User is not authenticated");
         }
+
+        Object principal = authentication.getPrincipal();
+        if (principal instanceof String userId) {
+            return userId;
+        }
+
+        throw new RuntimeException("Failed to retrieve user ID from authentication principal");
     }
 
-    public void authorizeOwnerOrWorker(Store store, String currentUserId) {
-        boolean isWorker = store.getWorkers().stream()
-                .anyMatch(worker -> worker.getSupabaseUid().equals(currentUserId));
-        boolean isOwner = store.getOwner().getSupabaseUid().equals(currentUserId);
+    public void authorizeOwner(Long storeId, String currentUserId) {
+        if (!getMembership(storeId).isOwner(currentUserId)) {
+            throw new RuntimeException("You are not authorized to perform this action");
+        }
+    }
 
-        if (!isWorker && !isOwner) {
+    public void authorizeOwnerOrWorker(Long storeId, String currentUserId) {
+        if (!getMembership(storeId).isOwnerOrWorker(currentUserId)) {
             throw new RuntimeException("You are not authorized to perform this action");
         }
     }
-}
\ No newline at end of file
+
+    private Membership getMembership(Long storeId) {
+        return storeMembershipService.getMembership(storeId)
+                .orElseThrow(() -> new RuntimeException("Store not found"));
+    }
+}
@@ -0,0 +1,264 @@
+package me.sarismart.backend.Service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPOutputStream;
+
+// Streams sales and stock ledger exports straight from a JDBC cursor to the
+// response. Rows are read fetch-size at a time inside a read-only transaction
+// (PostgreSQL only uses a server-side cursor when autocommit is off) and written
+// as they arrive, so memory stays flat and the first rows go out while the query
+// is still running.
+//
+// Each running export holds a pooled connection for as long as the client takes
+// to read it, so only max-concurrent run at once; the rest get 429 instead of
+// starving ordinary requests of connections.
+@Service
+public class ExportService {
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final int FLUSH_EVERY_ROWS = 500;
+
+    private static final String SALES_QUERY = """
+        SELECT id, sale_date, total_amount
+        FROM sales
+        WHERE store_id = ? AND sale_date >= ? AND sale_date < ?
+        ORDER BY sale_date, id
+        """;
+    private static final List<String> SALES_COLUMNS = List.of("id", "saleDate", "totalAmount");
+
+    private static final String STOCK_ADJUSTMENTS_QUERY = """
+        SELECT a.id, a."timestamp", a.product_id, p.name, a.user_id, u.full_name, a.old_stock, a.new_stock
+        FROM stock_adjustments a
+        JOIN products p ON p.id = a.product_id
+        JOIN users u ON u.supabase_uid = a.user_id
+        WHERE a.store_id = ? AND a."timestamp" >= ? AND a."timestamp" < ?
+        ORDER BY a."timestamp", a.id
+        """;
+    private static final List<String> STOCK_ADJUSTMENT_COLUMNS = List.of(
+            "id", "timestamp", "productId", "productName", "userId", "userName", "oldStock", "newStock");
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Semaphore exportSlots;
+
+    public ExportService(DataSource dataSource,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${sarismart.export.fetch-size:500}") int fetchSize,
+                         @Value("${sarismart.export.max-concurrent:2}") int maxConcurrent) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.exportSlots = new Semaphore(maxConcurrent);
+    }
+
+    public enum Format {
+        NDJSON("ndjson", "application/x-ndjson"),
+        CSV("csv", "text/csv");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public static Format parse(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new RuntimeException("Unsupported export format: " + value);
+        }
+    }
+
+    // Authorization runs here, on the request thread; the returned body runs later
+    // on an async thread that has no security context.
+    public StreamingResponseBody exportSales(Long storeId, LocalDateTime from, LocalDateTime to, Format format, boolean gzip) {
+        authorizationService.authorizeOwner(storeId, authorizationService.getCurrentUserId());
+        return stream(SALES_QUERY, SALES_COLUMNS, storeId, from, to, format, gzip);
+    }
+
+    public StreamingResponseBody exportStockAdjustments(Long storeId, LocalDateTime from, LocalDateTime to, Format format, boolean gzip) {
+        authorizationService.authorizeOwner(storeId, authorizationService.getCurrentUserId());
+        return stream(STOCK_ADJUSTMENTS_QUERY, STOCK_ADJUSTMENT_COLUMNS, storeId, from, to, format, gzip);
+    }
+
+    private StreamingResponseBody stream(String sql, List<String> columns, Long storeId,
+                                         LocalDateTime from, LocalDateTime to, Format format, boolean gzip) {
+        Timestamp rangeStart = Timestamp.valueOf(from != null ? from : EARLIEST);
+        Timestamp rangeEnd = Timestamp.valueOf(to != null ? to : LATEST);
+
+        // Taken on the request thread so the caller can still get a 429; released
+        // when the body finishes, however it finishes.
+        if (!exportSlots.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many exports in progress, try again later");
+        }
+
+        return outputStream -> {
+            try {
+                writeRows(outputStream, sql, columns, storeId, rangeStart, rangeEnd, format, gzip);
+            } finally {
+                exportSlots.release();
+            }
+        };
+    }
+
+    private void writeRows(OutputStream outputStream, String sql, List<String> columns, Long storeId,
+                           Timestamp rangeStart, Timestamp rangeEnd, Format format, boolean gzip) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(outputStream, true) : outputStream;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8));
+        RowWriter rowWriter = format == Format.CSV ? new CsvRowWriter(writer, columns) : new NdjsonRowWriter(writer, columns);
+
+        long[] rows = {0};
+        rowWriter.start();
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(sql, (RowCallbackHandler) resultSet -> {
+            try {
+                rowWriter.write(resultSet);
+                if (++rows[0] % FLUSH_EVERY_ROWS == 0) {
+                    rowWriter.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, storeId, rangeStart, rangeEnd));
+        rowWriter.flush();
+        if (target instanceof GZIPOutputStream gzipStream) {
+            gzipStream.finish();
+        }
+    }
+
+    private interface RowWriter {
+        default void start() throws IOException {
+        }
+
+        void write(ResultSet row) throws IOException, SQLException;
+
+        // Pushes buffered rows all the way through to the response.
+        void flush() throws IOException;
+    }
+
+    private static Object columnValue(ResultSet row, int index) throws SQLException {
+        Object value = row.getObject(index);
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toString();
+        }
+        return value;
+    }
+
+    private final class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+        private final List<String> columns;
+
+        private NdjsonRowWriter(Writer writer, List<String> columns) throws IOException {
+            this.generator = jsonFactory.createGenerator(writer);
+            this.generator.setRootValueSeparator(null);
+            this.columns = columns;
+        }
+
+        @Override
+        public void write(ResultSet row) throws IOException, SQLException {
+            generator.writeStartObject();
+            for (int i = 0; i < columns.size(); i++) {
+                generator.writeFieldName(columns.get(i));
+                Object value = columnValue(row, i + 1);
+                if (value == null) {
+                    generator.writeNull();
+                } else if (value instanceof Number number) {
+                    generator.writeNumber(number.toString());
+                } else {
+                    generator.writeString(value.toString());
+                }
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static final class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+        private final List<String> columns;
+
+        private CsvRowWriter(Writer writer, List<String> columns) {
+            this.writer = writer;
+            this.columns = columns;
+        }
+
+        @Override
+        public void start() throws IOException {
+            writer.write(String.join(",", columns));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(ResultSet row) throws IOException, SQLException {
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object value = columnValue(row, i + 1);
+                if (value != null) {
+                    writer.write(escape(value.toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String value) {
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package me.sarismart.backend.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import me.sarismart.backend.Entity.Store;
+import me.sarismart.backend.Util.BoundedCache;
+import me.sarismart.backend.Util.GeoUtil;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+// Caches nearby-store results per snapped grid cell and radius bucket. Requests
+// from phones a few meters apart map to the same key. The cached list is a
+// superset: every store within the bucketed radius plus the cell's half diagonal
+// of the cell center, so callers filter it down to their exact point and radius.
+//
+// Lists longer than max-stores-per-entry are not cached: a country-wide key holds
+// nearly every store with its owner and workers, and a few thousand of those
+// would not fit in the heap. The cache is thus bounded by entries x stores.
+@Component
+public class NearbyStoreCache {
+    private static final double[] RADIUS_BUCKETS_KM = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 20000};
+    private static final double MIN_CELL_SIZE_DEGREES = 0.01;
+    private static final double CELLS_PER_RADIUS = 20;
+    private static final double KM_PER_DEGREE = Math.toRadians(1) * GeoUtil.EARTH_RADIUS_KM;
+
+    private final BoundedCache<Key, List<Store>> cache;
+    private final int maxStoresPerEntry;
+
+    public NearbyStoreCache(MeterRegistry meterRegistry,
+                            @Value("${sarismart.cache.nearby-stores.max-entries:2000}") int maxEntries,
+                            @Value("${sarismart.cache.nearby-stores.ttl:PT5M}") Duration ttl,
+                            @Value("${sarismart.cache.nearby-stores.max-stores-per-entry:500}") int maxStoresPerEntry) {
+        this.cache = new BoundedCache<Key, List<Store>>(maxEntries, ttl)
+                .registerMetrics(meterRegistry, "nearby-stores");
+        this.maxStoresPerEntry = maxStoresPerEntry;
+    }
+
+    // Larger radii use coarser cells so country-wide map views share a handful of keys.
+    public Key keyFor(double latitude, double longitude, double radiusKm) {
+        double bucket = RADIUS_BUCKETS_KM[RADIUS_BUCKETS_KM.length - 1];
+        for (double candidate : RADIUS_BUCKETS_KM) {
+            if (radiusKm <= candidate) {
+                bucket = candidate;
+                break;
+            }
+        }
+
+        double cellSize = Math.max(MIN_CELL_SIZE_DEGREES, bucket / CELLS_PER_RADIUS / KM_PER_DEGREE);
+        long latCell = (long) Math.floor(latitude / cellSize);
+        long lonCell = (long) Math.floor(longitude / cellSize);
+        return new Key(latCell, lonCell, bucket, cellSize);
+    }
+
+    public List<Store> get(Key key) {
+        return cache.get(key);
+    }
+
+    public long generation() {
+        return cache.generation();
+    }
+
+    public void put(Key key, List<Store> stores, long generation) {
+        if (stores.size() > maxStoresPerEntry) {
+            return;
+        }
+        cache.putIfGeneration(key, List.copyOf(stores), generation);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public record Key(long latCell, long lonCell, double radiusBucketKm, double cellSizeDegrees) {
+
+        public double centerLatitude() {
+            return (latCell + 0.5) * cellSizeDegrees;
+        }
+
+        public double centerLongitude() {
+            return (lonCell + 0.5) * cellSizeDegrees;
+        }
+
+        // A longitude degree is never longer than a latitude degree, so the
+        // latitude scale gives an upper bound for the cell's half diagonal.
+        public double searchRadiusKm() {
+            return radiusBucketKm + cellSizeDegrees * KM_PER_DEGREE * Math.sqrt(2) / 2;
+        }
+    }
+}
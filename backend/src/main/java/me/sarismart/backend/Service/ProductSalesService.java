@@ -0,0 +1,60 @@
+package me.sarismart.backend.Service;
+
+import me.sarismart.backend.Repository.ProductSalesPeriodRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Maintains the product_sales_periods counters: units sold and revenue per
+// product for each day, week (Monday start) and month, in server-local time like
+// the daily rollup. Checkouts add to them and refunds subtract, each in the
+// sale's own transaction. Counters of long-past periods are purged on a schedule.
+@Service
+public class ProductSalesService {
+    private static final Logger log = LoggerFactory.getLogger(ProductSalesService.class);
+
+    @Autowired
+    private ProductSalesPeriodRepository productSalesPeriodRepository;
+
+    @Value("${sarismart.product-sales.retention-days:400}")
+    private int retentionDays;
+
+    // Must run in the checkout transaction, once per line item in product id order.
+    public void recordItem(Long storeId, Long productId, LocalDateTime saleDate, int quantity, double unitPrice) {
+        LocalDate day = saleDate.toLocalDate();
+        productSalesPeriodRepository.addSale(storeId, productId, day, weekStart(day), monthStart(day),
+                quantity, quantity * unitPrice);
+    }
+
+    // Must run in the refund transaction, before the sale's line items are deleted.
+    public void removeSale(Long storeId, Long saleId, LocalDateTime saleDate) {
+        LocalDate day = saleDate.toLocalDate();
+        productSalesPeriodRepository.removeSale(storeId, saleId, day, weekStart(day), monthStart(day));
+    }
+
+    public void deleteStore(Long storeId) {
+        productSalesPeriodRepository.deleteByStoreId(storeId);
+    }
+
+    @Scheduled(cron = "${sarismart.product-sales.purge-cron:0 30 3 * * *}")
+    @Transactional
+    public void purgeOldPeriods() {
+        int rows = productSalesPeriodRepository.deleteOlderThan(LocalDate.now().minusDays(retentionDays));
+        log.atInfo().addKeyValue("rows", rows).log("Purged old product sales counters");
+    }
+
+    public static LocalDate weekStart(LocalDate day) {
+        return SalesReportService.Bucket.WEEK.truncate(day.atStartOfDay()).toLocalDate();
+    }
+
+    public static LocalDate monthStart(LocalDate day) {
+        return day.withDayOfMonth(1);
+    }
+}
@@ -22,7 +22,11 @@ public class ProductService {
         return productRepository.findById(id);
     }
 
+    // Always inserts: the id is cleared and the sales counters start at zero.
     public Product createProduct(Product product) {
+        product.setId(null);
+        product.setSold(0);
+        product.setRevenue(0);
         return productRepository.save(product);
     }
 
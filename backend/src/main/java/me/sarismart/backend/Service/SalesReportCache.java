@@ -0,0 +1,237 @@
+package me.sarismart.backend.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import me.sarismart.backend.DTO.SalesBucket;
+import me.sarismart.backend.Entity.DailySalesSummary;
+import me.sarismart.backend.Entity.DailySalesSummaryId;
+import me.sarismart.backend.Repository.DailySalesSummaryRepository;
+import me.sarismart.backend.Util.BoundedCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+// Report caching split by whether a period can still change.
+//
+// Closed periods (buckets that ended before now, earlier days of the month) are
+// cached under the store's report version. Only a refund or a back-dated sale can
+// change them, and both bump the version after commit, so stale entries are
+// simply never looked up again and age out of the LRU.
+//
+// Today is served from a live per-store accumulator that sales add to after they
+// commit. It is loaded from the daily rollup on first use, and a load that
+// overlaps a committing sale is not kept, so a sale is never counted twice.
+//
+// Version bumps and live updates only see sales committed in this instance.
+// Changes made elsewhere (another replica, a manual fix, a rebuild) are picked
+// up when the live day is reloaded after live-max-age, and when closed-period
+// entries expire after their ttl, so both are kept short.
+@Component
+public class SalesReportCache {
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    private final BoundedCache<BucketKey, SalesBucket> closedBuckets;
+    private final BoundedCache<DaysKey, Totals> closedDays;
+    private final Map<Long, AtomicLong> storeVersions = new ConcurrentHashMap<>();
+    private final Map<Long, LiveDay> liveDays = new ConcurrentHashMap<>();
+    private final Duration closeGrace;
+    private final long liveMaxAgeNanos;
+
+    public SalesReportCache(MeterRegistry meterRegistry,
+                            @Value("${sarismart.cache.report-buckets.max-entries:50000}") int maxBuckets,
+                            @Value("${sarismart.cache.report-buckets.ttl:PT10M}") Duration ttl,
+                            @Value("${sarismart.cache.report-buckets.close-grace:PT1M}") Duration closeGrace,
+                            @Value("${sarismart.cache.report-buckets.live-max-age:PT30S}") Duration liveMaxAge) {
+        this.closedBuckets = new BoundedCache<BucketKey, SalesBucket>(maxBuckets, ttl)
+                .registerMetrics(meterRegistry, "report-buckets");
+        this.closedDays = new BoundedCache<DaysKey, Totals>(maxBuckets / 10, ttl)
+                .registerMetrics(meterRegistry, "report-days");
+        this.closeGrace = closeGrace;
+        this.liveMaxAgeNanos = liveMaxAge.toNanos();
+    }
+
+    public record Totals(double totalSales, long totalTransactions) {
+
+        public Totals plus(double amount, long count) {
+            return new Totals(totalSales + amount, totalTransactions + count);
+        }
+    }
+
+    public record BucketKey(Long storeId, long version, String zone, String bucket, LocalDateTime start) {
+    }
+
+    private record DaysKey(Long storeId, long version, LocalDate from, LocalDate to) {
+    }
+
+    public long version(Long storeId) {
+        return storeVersions.computeIfAbsent(storeId, id -> new AtomicLong()).get();
+    }
+
+    // A bucket counts as closed a little after it ends, so a sale stamped just
+    // before the boundary but committed just after it is not missed.
+    public boolean isClosed(LocalDateTime bucketEnd, ZoneId zone) {
+        return !bucketEnd.isAfter(LocalDateTime.now(zone).minus(closeGrace));
+    }
+
+    public SalesBucket getBucket(BucketKey key) {
+        return closedBuckets.get(key);
+    }
+
+    public void putBucket(BucketKey key, SalesBucket bucket) {
+        closedBuckets.put(key, bucket);
+    }
+
+    // Totals of the rollup days in [from, to), all of which must be before today.
+    public Totals closedDays(Long storeId, LocalDate from, LocalDate to) {
+        DaysKey key = new DaysKey(storeId, version(storeId), from, to);
+        Totals cached = closedDays.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Totals totals = sum(dailySalesSummaryRepository.findByStoreIdAndDayRange(storeId, from, to));
+        closedDays.put(key, totals);
+        return totals;
+    }
+
+    public Totals today(Long storeId) {
+        LocalDate today = LocalDate.now();
+        LiveDay live = liveDays.computeIfAbsent(storeId, id -> new LiveDay());
+        long observedVersion;
+        synchronized (live) {
+            if (live.loaded && today.equals(live.day) && System.nanoTime() - live.loadedAt < liveMaxAgeNanos) {
+                return live.totals;
+            }
+            observedVersion = live.inFlight == 0 ? live.version : -1;
+        }
+
+        Totals totals = dailySalesSummaryRepository.findById(new DailySalesSummaryId(storeId, today))
+                .map(summary -> new Totals(summary.getTotalAmount(), summary.getSaleCount()))
+                .orElse(new Totals(0, 0));
+
+        synchronized (live) {
+            if (observedVersion >= 0 && live.inFlight == 0 && live.version == observedVersion) {
+                live.day = today;
+                live.totals = totals;
+                live.loaded = true;
+                live.loadedAt = System.nanoTime();
+            }
+        }
+        return totals;
+    }
+
+    // Called inside the transaction that records the sale.
+    public void onSaleRecorded(Long storeId, LocalDateTime saleDate, double amount) {
+        // Decided at commit time: by then the sale's day may already have closed.
+        BooleanSupplier backDated = () -> saleDate.isBefore(LocalDateTime.now().minus(closeGrace))
+                || !saleDate.toLocalDate().equals(LocalDate.now());
+        afterTransaction(storeId, backDated, live -> {
+            if (live.loaded && saleDate.toLocalDate().equals(live.day)) {
+                live.totals = live.totals.plus(amount, 1);
+            }
+        });
+    }
+
+    // Called inside the transaction that removes the sale.
+    public void onSaleRefunded(Long storeId, LocalDateTime saleDate) {
+        afterTransaction(storeId, () -> true, live -> {
+            if (saleDate.toLocalDate().equals(live.day)) {
+                live.loaded = false;
+            }
+        });
+    }
+
+    // For changes made outside a sale transaction, e.g. a rollup repair.
+    public void invalidateStore(Long storeId) {
+        bumpVersion(storeId);
+        LiveDay live = liveDays.get(storeId);
+        if (live != null) {
+            synchronized (live) {
+                live.loaded = false;
+                live.version++;
+            }
+        }
+    }
+
+    // The change is marked in flight before commit, so a concurrent load of today
+    // cannot be kept, and applied after commit, once readers can see it too.
+    private void afterTransaction(Long storeId, BooleanSupplier closesPeriods, Consumer<LiveDay> apply) {
+        LiveDay live = liveDays.computeIfAbsent(storeId, id -> new LiveDay());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            synchronized (live) {
+                apply.accept(live);
+                live.version++;
+            }
+            if (closesPeriods.getAsBoolean()) {
+                bumpVersion(storeId);
+            }
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean started;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                synchronized (live) {
+                    live.inFlight++;
+                    live.version++;
+                }
+                started = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (!started) {
+                    return;
+                }
+                synchronized (live) {
+                    if (status == STATUS_COMMITTED) {
+                        apply.accept(live);
+                    }
+                    live.inFlight--;
+                    live.version++;
+                }
+                if (status == STATUS_COMMITTED && closesPeriods.getAsBoolean()) {
+                    bumpVersion(storeId);
+                }
+            }
+        });
+    }
+
+    private void bumpVersion(Long storeId) {
+        storeVersions.computeIfAbsent(storeId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    private static Totals sum(List<DailySalesSummary> days) {
+        double total = 0;
+        long count = 0;
+        for (DailySalesSummary day : days) {
+            total += day.getTotalAmount();
+            count += day.getSaleCount();
+        }
+        return new Totals(total, count);
+    }
+
+    private static final class LiveDay {
+        private LocalDate day;
+        private Totals totals = new Totals(0, 0);
+        private boolean loaded;
+        private long loadedAt;
+        private int inFlight;
+        private long version;
+    }
+}
@@ -0,0 +1,213 @@
+package me.sarismart.backend.Service;
+
+import me.sarismart.backend.DTO.SalesBucket;
+import me.sarismart.backend.DTO.SalesSeries;
+import me.sarismart.backend.DTO.TopProducts;
+import me.sarismart.backend.Repository.ProductRepository;
+import me.sarismart.backend.Repository.ProductSalesPeriodRepository;
+import me.sarismart.backend.Repository.SaleRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Time-bucketed sales series for charts. The database does the aggregation in a
+// single GROUP BY over the store's sales in range; empty buckets are filled in
+// here so the client gets one point per bucket. Buckets that have closed are
+// served from SalesReportCache, so only the uncached span is queried.
+@Service
+public class SalesReportService {
+    private static final int MAX_BUCKETS = 1000;
+    private static final int MAX_TOP_PRODUCTS = 100;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    @Autowired
+    private SalesReportCache salesReportCache;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSalesPeriodRepository productSalesPeriodRepository;
+
+    public enum Bucket {
+        HOUR, DAY, WEEK, MONTH;
+
+        public static Bucket parse(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Unsupported bucket: " + value);
+            }
+        }
+
+        // Same boundaries as PostgreSQL's date_trunc; weeks start on Monday.
+        public LocalDateTime truncate(LocalDateTime time) {
+            return switch (this) {
+                case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+                case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+                case WEEK -> time.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay();
+                case MONTH -> time.toLocalDate().withDayOfMonth(1).atStartOfDay();
+            };
+        }
+
+        public LocalDateTime next(LocalDateTime bucketStart) {
+            return switch (this) {
+                case HOUR -> bucketStart.plusHours(1);
+                case DAY -> bucketStart.plusDays(1);
+                case WEEK -> bucketStart.plusWeeks(1);
+                case MONTH -> bucketStart.plusMonths(1);
+            };
+        }
+
+        public String sqlName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    // from and to are local times in the requested timezone; the range is [from, to).
+    public SalesSeries getSalesSeries(Long storeId, LocalDateTime from, LocalDateTime to, String bucketName, String timezone) {
+        authorizationService.authorizeOwnerOrWorker(storeId, authorizationService.getCurrentUserId());
+
+        Bucket bucket = Bucket.parse(bucketName);
+        ZoneId zone = timezone == null || timezone.isEmpty() ? ZoneId.systemDefault() : parseZone(timezone);
+        if (!from.isBefore(to)) {
+            throw new RuntimeException("from must be before to");
+        }
+
+        List<LocalDateTime> bucketStarts = new ArrayList<>();
+        for (LocalDateTime start = bucket.truncate(from); start.isBefore(to); start = bucket.next(start)) {
+            if (bucketStarts.size() == MAX_BUCKETS) {
+                throw new RuntimeException("Range too large for bucket " + bucket.sqlName() + ", the maximum is " + MAX_BUCKETS + " buckets");
+            }
+            bucketStarts.add(start);
+        }
+
+        // Only whole buckets inside [from, to) that have closed are cacheable; the
+        // rest, plus any cache misses, are covered by one query over their span.
+        long version = salesReportCache.version(storeId);
+        Map<LocalDateTime, SalesBucket> totals = new HashMap<>();
+        List<LocalDateTime> toCache = new ArrayList<>();
+        LocalDateTime missingFrom = null;
+        LocalDateTime missingTo = null;
+        for (LocalDateTime start : bucketStarts) {
+            LocalDateTime end = bucket.next(start);
+            boolean cacheable = !start.isBefore(from) && !end.isAfter(to) && salesReportCache.isClosed(end, zone);
+            SalesBucket cached = cacheable ? salesReportCache.getBucket(cacheKey(storeId, version, zone, bucket, start)) : null;
+            if (cached != null) {
+                totals.put(start, cached);
+                continue;
+            }
+            if (cacheable) {
+                toCache.add(start);
+            }
+            if (missingFrom == null) {
+                missingFrom = start.isBefore(from) ? from : start;
+            }
+            missingTo = end.isAfter(to) ? to : end;
+        }
+
+        if (missingFrom != null) {
+            for (Object[] row : aggregate(storeId, missingFrom, missingTo, bucket, zone)) {
+                LocalDateTime start = toLocalDateTime(row[0]);
+                totals.put(start, new SalesBucket(start, ((Number) row[1]).doubleValue(), ((Number) row[2]).longValue()));
+            }
+            for (LocalDateTime start : toCache) {
+                salesReportCache.putBucket(cacheKey(storeId, version, zone, bucket, start),
+                        totals.getOrDefault(start, new SalesBucket(start, 0, 0)));
+            }
+        }
+
+        List<SalesBucket> series = new ArrayList<>(bucketStarts.size());
+        for (LocalDateTime start : bucketStarts) {
+            series.add(totals.getOrDefault(start, new SalesBucket(start, 0, 0)));
+        }
+        return new SalesSeries(bucket.sqlName(), zone.getId(), series);
+    }
+
+    // Best sellers of the current day, week or month, or of all time, ranked by
+    // units sold. Reads the maintained counters through an index that is already
+    // in ranking order, so the query stops after limit rows and never touches
+    // line items.
+    public TopProducts getTopProducts(Long storeId, String period, int limit) {
+        authorizationService.authorizeOwnerOrWorker(storeId, authorizationService.getCurrentUserId());
+
+        if (limit <= 0 || limit > MAX_TOP_PRODUCTS) {
+            throw new RuntimeException("limit must be between 1 and " + MAX_TOP_PRODUCTS);
+        }
+        PageRequest page = PageRequest.of(0, limit);
+        if ("all".equalsIgnoreCase(period)) {
+            return new TopProducts("all", null, productRepository.findTopSellers(storeId, page));
+        }
+
+        Bucket bucket = switch (period.toLowerCase(Locale.ROOT)) {
+            case "day" -> Bucket.DAY;
+            case "week" -> Bucket.WEEK;
+            case "month" -> Bucket.MONTH;
+            default -> throw new RuntimeException("Unsupported period: " + period);
+        };
+        LocalDate periodStart = bucket.truncate(LocalDateTime.now()).toLocalDate();
+        return new TopProducts(bucket.sqlName(), periodStart,
+                productSalesPeriodRepository.findTop(storeId, bucket.name(), periodStart, page));
+    }
+
+    private static SalesReportCache.BucketKey cacheKey(Long storeId, long version, ZoneId zone, Bucket bucket, LocalDateTime start) {
+        return new SalesReportCache.BucketKey(storeId, version, zone.getId(), bucket.sqlName(), start);
+    }
+
+    private List<Object[]> aggregate(Long storeId, LocalDateTime from, LocalDateTime to, Bucket bucket, ZoneId zone) {
+        ZoneId serverZone = ZoneId.systemDefault();
+        return saleRepository.aggregateByBucket(storeId,
+                toServerTime(from, zone, serverZone), toServerTime(to, zone, serverZone),
+                bucket.sqlName(), sqlZoneName(serverZone), sqlZoneName(zone));
+    }
+
+    private static LocalDateTime toServerTime(LocalDateTime time, ZoneId zone, ZoneId serverZone) {
+        return time.atZone(zone).withZoneSameInstant(serverZone).toLocalDateTime();
+    }
+
+    // PostgreSQL reads numeric offsets in AT TIME ZONE with the POSIX sign
+    // convention (the opposite of ISO 8601), so only region ids are accepted.
+    private static ZoneId parseZone(String timezone) {
+        ZoneId zone;
+        try {
+            zone = ZoneId.of(timezone);
+        } catch (DateTimeException e) {
+            throw new RuntimeException("Invalid timezone: " + timezone);
+        }
+        if (zone instanceof ZoneOffset offset && offset.getTotalSeconds() != 0) {
+            throw new RuntimeException("Use a region timezone such as Asia/Manila instead of an offset");
+        }
+        return zone;
+    }
+
+    private static String sqlZoneName(ZoneId zone) {
+        return zone instanceof ZoneOffset ? "UTC" : zone.getId();
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,142 @@
+package me.sarismart.backend.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import me.sarismart.backend.Entity.DailySalesSummary;
+import me.sarismart.backend.Entity.DailySalesSummaryId;
+import me.sarismart.backend.Repository.DailySalesSummaryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Maintains the daily_sales_summary rollup: one row per (store, sale day) with
+// the day's total, count and smallest/largest ticket. Sales add themselves with
+// an upsert in the sale's own transaction; refunds recompute their day because a
+// min/max cannot be decremented. Sale days are the calendar date of saleDate as
+// stored, the same boundaries the daily and monthly reports have always used.
+@Service
+public class SalesSummaryService {
+    private static final Logger log = LoggerFactory.getLogger(SalesSummaryService.class);
+    private static final double AMOUNT_TOLERANCE = 0.005;
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    @Autowired
+    private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+    @Autowired
+    private SalesReportCache salesReportCache;
+
+    private final TransactionTemplate transactionTemplate;
+    private final Counter repairedDays;
+    private final int checkDays;
+
+    public SalesSummaryService(PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${sarismart.sales-summary.check-days:7}") int checkDays) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.repairedDays = Counter.builder("sarismart.sales-summary.repaired-days")
+                .description("Daily sales rollup rows the consistency check had to recompute")
+                .register(meterRegistry);
+        this.checkDays = checkDays;
+    }
+
+    // Must run in the transaction that inserts the sale.
+    public void recordSale(Long storeId, LocalDateTime saleDate, double amount) {
+        dailySalesSummaryRepository.addSale(storeId, saleDate.toLocalDate(), amount);
+    }
+
+    // Must run in the transaction that removes or changes a sale of that day.
+    public void recomputeDay(Long storeId, LocalDate day) {
+        dailySalesSummaryRepository.deleteByStoreIdAndDayRange(storeId, day, day.plusDays(1));
+        dailySalesSummaryRepository.rebuildStoreRange(storeId, day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    public void deleteStore(Long storeId) {
+        dailySalesSummaryRepository.deleteByStoreId(storeId);
+    }
+
+    // Rows for days in [from, to), oldest first; days without sales have no row.
+    public List<DailySalesSummary> getDays(Long storeId, LocalDate from, LocalDate to) {
+        return dailySalesSummaryRepository.findByStoreIdAndDayRange(storeId, from, to);
+    }
+
+    // Rebuilds all of one store's rows from the sales table in one transaction,
+    // then drops the store's cached report totals. The initial backfill is done
+    // by migration V5.
+    public void rebuildStore(Long storeId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            dailySalesSummaryRepository.deleteByStoreId(storeId);
+            int rows = dailySalesSummaryRepository.rebuildStoreRange(storeId, EARLIEST, LATEST);
+            log.atInfo().addKeyValue("storeId", storeId).addKeyValue("rows", rows).log("Rebuilt daily sales summary");
+        });
+        salesReportCache.invalidateStore(storeId);
+    }
+
+    // Compares the rollup for the last few days against a GROUP BY over the sales
+    // table and recomputes any day that drifted, e.g. when a refund raced a sale
+    // of the same day.
+    @Scheduled(fixedDelayString = "${sarismart.sales-summary.check-interval:PT1H}",
+               initialDelayString = "${sarismart.sales-summary.check-initial-delay:PT10M}")
+    public void checkConsistency() {
+        LocalDate from = LocalDate.now().minusDays(checkDays);
+        LocalDate to = LocalDate.now().plusDays(1);
+
+        Map<DailySalesSummaryId, DailySalesSummary> stored = new HashMap<>();
+        for (DailySalesSummary summary : dailySalesSummaryRepository.findByDayRange(from, to)) {
+            stored.put(summary.getId(), summary);
+        }
+
+        Map<DailySalesSummaryId, DailySalesSummary> expected = new HashMap<>();
+        for (Object[] row : dailySalesSummaryRepository.aggregateSales(from.atStartOfDay(), to.atStartOfDay())) {
+            DailySalesSummaryId id = new DailySalesSummaryId(((Number) row[0]).longValue(), toLocalDate(row[1]));
+            expected.put(id, new DailySalesSummary(id, ((Number) row[2]).doubleValue(), ((Number) row[3]).intValue(),
+                    ((Number) row[4]).doubleValue(), ((Number) row[5]).doubleValue()));
+        }
+
+        Set<DailySalesSummaryId> days = new HashSet<>(stored.keySet());
+        days.addAll(expected.keySet());
+        for (DailySalesSummaryId day : days) {
+            if (matches(stored.get(day), expected.get(day))) {
+                continue;
+            }
+            log.atWarn()
+                    .addKeyValue("storeId", day.getStoreId())
+                    .addKeyValue("saleDay", day.getSaleDay())
+                    .log("Daily sales summary drifted from sales, recomputing");
+            transactionTemplate.executeWithoutResult(status -> recomputeDay(day.getStoreId(), day.getSaleDay()));
+            salesReportCache.invalidateStore(day.getStoreId());
+            repairedDays.increment();
+        }
+    }
+
+    private static boolean matches(DailySalesSummary stored, DailySalesSummary expected) {
+        if (stored == null || expected == null) {
+            return stored == expected;
+        }
+        return stored.getSaleCount() == expected.getSaleCount()
+                && Math.abs(stored.getTotalAmount() - expected.getTotalAmount()) < AMOUNT_TOLERANCE
+                && Math.abs(stored.getMinTicket() - expected.getMinTicket()) < AMOUNT_TOLERANCE
+                && Math.abs(stored.getMaxTicket() - expected.getMaxTicket()) < AMOUNT_TOLERANCE;
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+}
@@ -0,0 +1,108 @@
+package me.sarismart.backend.Service;
+
+import me.sarismart.backend.DTO.InventorySuggestion;
+import me.sarismart.backend.Entity.Product;
+import me.sarismart.backend.Entity.ProductVelocity;
+import me.sarismart.backend.Repository.ProductRepository;
+import me.sarismart.backend.Repository.ProductVelocityRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Keeps an exponentially weighted sales rate per product and turns it into
+// days of cover and reorder suggestions. Each committed checkout or refund
+// publishes the units it moved; they are folded into the stored rate after
+// commit on an async thread, one upsert per product, so the sale itself never
+// waits on it and no sales history is ever re-read.
+//
+// The rate decays continuously with the configured half-life: a sale of q units
+// adds q * ln 2 / halfLife units per day, which then halves every halfLife.
+@Service
+public class SalesVelocityService {
+
+    @Autowired
+    private ProductVelocityRepository productVelocityRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private AuthorizationService authorizationService;
+
+    private final double decayPerDay;
+    private final int leadTimeDays;
+    private final int targetCoverDays;
+
+    public SalesVelocityService(@Value("${sarismart.inventory.velocity-half-life:P7D}") Duration halfLife,
+                                @Value("${sarismart.inventory.lead-time-days:3}") int leadTimeDays,
+                                @Value("${sarismart.inventory.target-cover-days:14}") int targetCoverDays) {
+        this.decayPerDay = Math.log(2) / (halfLife.toSeconds() / 86400.0);
+        this.leadTimeDays = leadTimeDays;
+        this.targetCoverDays = targetCoverDays;
+    }
+
+    // Units per product moved by one sale, negative for a refund. at is the sale's
+    // date in both cases, so a refund removes exactly what the sale added.
+    public record UnitsSold(Long storeId, LocalDateTime at, Map<Long, Integer> units) {
+    }
+
+    @Async
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onUnitsSold(UnitsSold event) {
+        // Product id order, like checkout, so concurrent updates lock rows consistently.
+        event.units().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> productVelocityRepository.addUnits(
+                        entry.getKey(), event.storeId(), entry.getValue(), event.at(), decayPerDay));
+    }
+
+    public void deleteStore(Long storeId) {
+        productVelocityRepository.deleteByStoreId(storeId);
+    }
+
+    // Products of the store with their current rate, fewest days of cover first;
+    // products that are not selling come last.
+    public List<InventorySuggestion> getSuggestions(Long storeId) {
+        authorizationService.authorizeOwnerOrWorker(storeId, authorizationService.getCurrentUserId());
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ProductVelocity> velocities = productVelocityRepository.findByStoreId(storeId).stream()
+                .collect(Collectors.toMap(ProductVelocity::getProductId, Function.identity()));
+
+        return productRepository.findByStoreId(storeId).stream()
+                .map(product -> suggest(product, velocities.get(product.getId()), now))
+                .sorted(Comparator.comparing(InventorySuggestion::getDaysOfCover,
+                        Comparator.nullsLast(Comparator.naturalOrder())))
+                .toList();
+    }
+
+    private InventorySuggestion suggest(Product product, ProductVelocity velocity, LocalDateTime now) {
+        double rate = velocity == null ? 0 : decayedRate(velocity, now);
+        int stock = Math.max(product.getStock(), 0);
+        Double daysOfCover = rate > 0 ? stock / rate : null;
+        int reorderLevel = (int) Math.ceil(rate * leadTimeDays);
+        int reorderQuantity = Math.max((int) Math.ceil(rate * (leadTimeDays + targetCoverDays)) - stock, 0);
+        return new InventorySuggestion(product.getId(), product.getName(), product.getStock(), product.getReorderLevel(),
+                rate, daysOfCover, reorderLevel, reorderQuantity);
+    }
+
+    // The stored value may be briefly negative while a refund's event is ahead of
+    // its sale's, so it is clamped here rather than when written.
+    private double decayedRate(ProductVelocity velocity, LocalDateTime now) {
+        double elapsedDays = Math.max(Duration.between(velocity.getUpdatedAt(), now).toSeconds(), 0) / 86400.0;
+        return Math.max(velocity.getVelocity() * Math.exp(-decayPerDay * elapsedDays), 0);
+    }
+}
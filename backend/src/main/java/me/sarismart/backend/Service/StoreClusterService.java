@@ -0,0 +1,111 @@
+package me.sarismart.backend.Service;
+
+import me.sarismart.backend.DTO.StoreCluster;
+import me.sarismart.backend.Service.StoreLocationIndex.StorePoint;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Grid-based map clustering. Stores are grouped into cells sized to roughly a
+// quarter of a 256px map tile at the requested zoom, so the number of markers per
+// screen stays flat regardless of how many stores exist. Each zoom level's
+// clusters are computed once and reused until the location index changes.
+@Service
+public class StoreClusterService {
+    public static final int MAX_ZOOM = 20;
+    private static final int CELLS_PER_TILE = 4;
+    private static final int MAX_REPRESENTATIVES = 5;
+
+    @Autowired
+    private StoreLocationIndex storeLocationIndex;
+
+    private final Map<Integer, ZoomClusters> clustersByZoom = new ConcurrentHashMap<>();
+
+    public List<StoreCluster> getClusters(String bbox, int zoom) {
+        double[] bounds = parseBoundingBox(bbox);
+        double minLon = bounds[0];
+        double minLat = bounds[1];
+        double maxLon = bounds[2];
+        double maxLat = bounds[3];
+
+        return clustersFor(Math.max(0, Math.min(zoom, MAX_ZOOM))).stream()
+                .filter(cluster -> cluster.getLatitude() >= minLat && cluster.getLatitude() <= maxLat)
+                .filter(cluster -> minLon <= maxLon
+                        ? cluster.getLongitude() >= minLon && cluster.getLongitude() <= maxLon
+                        : cluster.getLongitude() >= minLon || cluster.getLongitude() <= maxLon)
+                .toList();
+    }
+
+    private List<StoreCluster> clustersFor(int zoom) {
+        long version = storeLocationIndex.version();
+        ZoomClusters cached = clustersByZoom.get(zoom);
+        if (cached != null && cached.version() == version) {
+            return cached.clusters();
+        }
+
+        List<StoreCluster> clusters = buildClusters(zoom);
+        clustersByZoom.put(zoom, new ZoomClusters(version, clusters));
+        return clusters;
+    }
+
+    private List<StoreCluster> buildClusters(int zoom) {
+        double cellSize = 360.0 / ((1L << zoom) * CELLS_PER_TILE);
+        long longitudeCells = (long) Math.ceil(360 / cellSize) + 1;
+
+        Map<Long, Accumulator> cells = new HashMap<>();
+        for (StorePoint point : storeLocationIndex.all()) {
+            long latCell = (long) Math.floor((point.latitude() + 90) / cellSize);
+            long lonCell = (long) Math.floor((point.longitude() + 180) / cellSize);
+            cells.computeIfAbsent(latCell * longitudeCells + lonCell, key -> new Accumulator()).add(point);
+        }
+
+        List<StoreCluster> clusters = new ArrayList<>(cells.size());
+        for (Accumulator cell : cells.values()) {
+            clusters.add(new StoreCluster(cell.latitudeSum / cell.count, cell.longitudeSum / cell.count,
+                    cell.count, List.copyOf(cell.storeIds)));
+        }
+        return List.copyOf(clusters);
+    }
+
+    // bbox is "minLon,minLat,maxLon,maxLat", the usual map-viewport ordering.
+    private double[] parseBoundingBox(String bbox) {
+        String[] parts = bbox.split(",");
+        if (parts.length != 4) {
+            throw new RuntimeException("Invalid bbox, expected minLon,minLat,maxLon,maxLat");
+        }
+
+        double[] bounds = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                bounds[i] = Double.parseDouble(parts[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid bbox, expected minLon,minLat,maxLon,maxLat");
+        }
+        return bounds;
+    }
+
+    private static class Accumulator {
+        private double latitudeSum;
+        private double longitudeSum;
+        private int count;
+        private final List<Long> storeIds = new ArrayList<>(MAX_REPRESENTATIVES);
+
+        void add(StorePoint point) {
+            latitudeSum += point.latitude();
+            longitudeSum += point.longitude();
+            count++;
+            if (storeIds.size() < MAX_REPRESENTATIVES) {
+                storeIds.add(point.storeId());
+            }
+        }
+    }
+
+    private record ZoomClusters(long version, List<StoreCluster> clusters) {
+    }
+}
@@ -0,0 +1,279 @@
+package me.sarismart.backend.Service;
+
+import me.sarismart.backend.DTO.StoreLocation;
+import me.sarismart.backend.Repository.StoreRepository;
+import me.sarismart.backend.Util.GeoUtil;
+import me.sarismart.backend.Util.GeoUtil.BoundingBox;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// In-memory grid index of store coordinates. Each store id is bucketed into a
+// fixed-size lat/lon cell so radius lookups only visit the cells overlapping the
+// search box instead of every store. StoreService keeps it in sync on writes
+// made by this instance; a periodic reload from the database picks up stores
+// created, moved or deleted through other instances.
+@Component
+public class StoreLocationIndex {
+
+    static final double CELL_SIZE_DEGREES = 0.1;
+    private static final double INITIAL_NEAREST_RADIUS_KM = 1.0;
+    private static final Comparator<StoreDistance> NEAREST_FIRST =
+            Comparator.comparingDouble(StoreDistance::distanceKm).thenComparing(StoreDistance::storeId);
+    private static final long LONGITUDE_CELLS = (long) Math.ceil(360 / CELL_SIZE_DEGREES) + 1;
+
+    private final StoreRepository storeRepository;
+
+    private final Map<Long, StorePoint> points = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+    // Version of each store's latest local write, so a reload that read the
+    // database before that write does not undo it.
+    private final Map<Long, Long> localWrites = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile boolean loaded;
+
+    public StoreLocationIndex(StoreRepository storeRepository) {
+        this.storeRepository = storeRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        ensureLoaded();
+    }
+
+    public synchronized void put(Long storeId, double latitude, double longitude) {
+        apply(storeId, latitude, longitude);
+        localWrites.put(storeId, version.get());
+    }
+
+    public synchronized void remove(Long storeId) {
+        if (points.remove(storeId) instanceof StorePoint previous) {
+            removeFromCell(previous);
+            version.incrementAndGet();
+        }
+        localWrites.put(storeId, version.get());
+    }
+
+    // Brings the index in line with the stores table. Stores written locally
+    // after the read started keep their local state until the next reload.
+    @Scheduled(fixedDelayString = "${sarismart.store-index.reload-interval:PT1M}",
+               initialDelayString = "${sarismart.store-index.reload-interval:PT1M}")
+    public void reload() {
+        if (!loaded) {
+            return;
+        }
+        long readVersion = version.get();
+        List<StoreLocation> locations = storeRepository.findAllLocations();
+
+        synchronized (this) {
+            Set<Long> seen = new HashSet<>(locations.size() * 2);
+            for (StoreLocation location : locations) {
+                seen.add(location.getId());
+                if (writtenSince(location.getId(), readVersion)) {
+                    continue;
+                }
+                StorePoint current = points.get(location.getId());
+                if (current == null || current.latitude() != location.getLatitude()
+                        || current.longitude() != location.getLongitude()) {
+                    apply(location.getId(), location.getLatitude(), location.getLongitude());
+                }
+            }
+            for (Long storeId : List.copyOf(points.keySet())) {
+                if (!seen.contains(storeId) && !writtenSince(storeId, readVersion)) {
+                    removeFromCell(points.remove(storeId));
+                    version.incrementAndGet();
+                }
+            }
+            localWrites.values().removeIf(writeVersion -> writeVersion <= readVersion);
+        }
+    }
+
+    // Bumped on every change so derived views (e.g. map clusters) know when to rebuild.
+    public long version() {
+        ensureLoaded();
+        return version.get();
+    }
+
+    public Collection<StorePoint> all() {
+        ensureLoaded();
+        return Collections.unmodifiableCollection(points.values());
+    }
+
+    public int size() {
+        ensureLoaded();
+        return points.size();
+    }
+
+    // Store ids within radiusKm of the given point, nearest first.
+    public List<StoreDistance> withinRadius(double latitude, double longitude, double radiusKm) {
+        ensureLoaded();
+
+        List<StoreDistance> matches = new ArrayList<>();
+        for (StorePoint point : candidates(GeoUtil.boundingBox(latitude, longitude, radiusKm))) {
+            double distance = GeoUtil.distanceKm(latitude, longitude, point.latitude(), point.longitude());
+            if (distance <= radiusKm) {
+                matches.add(new StoreDistance(point.storeId(), distance));
+            }
+        }
+        matches.sort(NEAREST_FIRST);
+        return matches;
+    }
+
+    // The k stores closest to the given point. Searches a growing radius until it
+    // holds k stores (anything outside is then farther than all of them) or the
+    // search box covers every indexed store.
+    public List<StoreDistance> nearest(double latitude, double longitude, int k) {
+        ensureLoaded();
+
+        double radiusKm = INITIAL_NEAREST_RADIUS_KM;
+        while (true) {
+            BoundingBox box = GeoUtil.boundingBox(latitude, longitude, radiusKm);
+            boolean coversAll = radiusKm >= Math.PI * GeoUtil.EARTH_RADIUS_KM;
+            List<StoreDistance> matches = closest(latitude, longitude, coversAll ? Double.MAX_VALUE : radiusKm,
+                    candidates(box), null, k);
+            if (matches.size() >= k || coversAll || matches.size() >= points.size()) {
+                return matches;
+            }
+            radiusKm *= 4;
+        }
+    }
+
+    // Up to limit stores within radiusKm, nearest first, that sort strictly after
+    // the given cursor position. Only limit entries are ever held at once.
+    public List<StoreDistance> page(double latitude, double longitude, double radiusKm, StoreDistance after, int limit) {
+        ensureLoaded();
+        return closest(latitude, longitude, radiusKm,
+                candidates(GeoUtil.boundingBox(latitude, longitude, radiusKm)), after, limit);
+    }
+
+    private List<StoreDistance> closest(double latitude, double longitude, double radiusKm,
+                                        Iterable<StorePoint> candidates, StoreDistance after, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        // Max-heap on distance: the root is the farthest of the current best matches.
+        PriorityQueue<StoreDistance> best = new PriorityQueue<>(limit + 1, NEAREST_FIRST.reversed());
+        for (StorePoint point : candidates) {
+            double distance = GeoUtil.distanceKm(latitude, longitude, point.latitude(), point.longitude());
+            if (distance > radiusKm) {
+                continue;
+            }
+            StoreDistance match = new StoreDistance(point.storeId(), distance);
+            if (after != null && NEAREST_FIRST.compare(match, after) <= 0) {
+                continue;
+            }
+            if (best.size() < limit) {
+                best.add(match);
+            } else if (NEAREST_FIRST.compare(match, best.peek()) < 0) {
+                best.poll();
+                best.add(match);
+            }
+        }
+
+        List<StoreDistance> matches = new ArrayList<>(best);
+        matches.sort(NEAREST_FIRST);
+        return matches;
+    }
+
+    private Iterable<StorePoint> candidates(BoundingBox box) {
+        long minLatCell = latitudeCell(box.minLat());
+        long maxLatCell = latitudeCell(box.maxLat());
+        long minLonCell = longitudeCell(box.minLon());
+        long maxLonCell = longitudeCell(box.maxLon());
+
+        // For very large radii walking the cells costs more than checking every store.
+        long cellCount = (maxLatCell - minLatCell + 1) * (maxLonCell - minLonCell + 1);
+        if (cellCount >= points.size()) {
+            return points.values();
+        }
+
+        List<StorePoint> candidates = new ArrayList<>();
+        for (long latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (long lonCell = minLonCell; lonCell <= maxLonCell; lonCell++) {
+                Set<Long> ids = cells.get(latCell * LONGITUDE_CELLS + lonCell);
+                if (ids == null) {
+                    continue;
+                }
+                for (Long id : ids) {
+                    StorePoint point = points.get(id);
+                    if (point != null) {
+                        candidates.add(point);
+                    }
+                }
+            }
+        }
+        return candidates;
+    }
+
+    private void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            for (StoreLocation location : storeRepository.findAllLocations()) {
+                apply(location.getId(), location.getLatitude(), location.getLongitude());
+            }
+            loaded = true;
+        }
+    }
+
+    private void apply(Long storeId, double latitude, double longitude) {
+        StorePoint previous = points.put(storeId, new StorePoint(storeId, latitude, longitude));
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+        cells.computeIfAbsent(cellKey(latitude, longitude), key -> ConcurrentHashMap.newKeySet()).add(storeId);
+        version.incrementAndGet();
+    }
+
+    private boolean writtenSince(Long storeId, long readVersion) {
+        Long writeVersion = localWrites.get(storeId);
+        return writeVersion != null && writeVersion > readVersion;
+    }
+
+    private void removeFromCell(StorePoint point) {
+        long key = cellKey(point.latitude(), point.longitude());
+        Set<Long> ids = cells.get(key);
+        if (ids != null) {
+            ids.remove(point.storeId());
+            if (ids.isEmpty()) {
+                cells.remove(key);
+            }
+        }
+    }
+
+    private static long cellKey(double latitude, double longitude) {
+        return latitudeCell(latitude) * LONGITUDE_CELLS + longitudeCell(longitude);
+    }
+
+    private static long latitudeCell(double latitude) {
+        return (long) Math.floor((latitude + 90) / CELL_SIZE_DEGREES);
+    }
+
+    private static long longitudeCell(double longitude) {
+        return (long) Math.floor((longitude + 180) / CELL_SIZE_DEGREES);
+    }
+
+    public record StorePoint(Long storeId, double latitude, double longitude) {
+    }
+
+    public record StoreDistance(Long storeId, double distanceKm) {
+    }
+}
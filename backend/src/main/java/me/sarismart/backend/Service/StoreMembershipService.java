@@ -0,0 +1,75 @@
+package me.sarismart.backend.Service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import me.sarismart.backend.Repository.StoreRepository;
+import me.sarismart.backend.Util.BoundedCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// Answers "is this user the owner / a worker of this store?" from a compact
+// storeId -> (ownerUid, workerUids) cache, so authorization never has to load the
+// Store aggregate or its workers collection. A miss loads the membership with one
+// indexed query over stores and store_workers.
+@Service
+public class StoreMembershipService {
+
+    @Autowired
+    private StoreRepository storeRepository;
+
+    private final BoundedCache<Long, Membership> memberships;
+
+    public StoreMembershipService(MeterRegistry meterRegistry,
+                                  @Value("${sarismart.cache.store-memberships.max-entries:5000}") int maxEntries,
+                                  @Value("${sarismart.cache.store-memberships.ttl:PT10M}") Duration ttl) {
+        this.memberships = new BoundedCache<Long, Membership>(maxEntries, ttl)
+                .registerMetrics(meterRegistry, "store-memberships");
+    }
+
+    // Empty when the store does not exist.
+    public Optional<Membership> getMembership(Long storeId) {
+        Membership cached = memberships.get(storeId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        long generation = memberships.generation();
+        List<Object[]> rows = storeRepository.findMembershipRows(storeId);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String ownerUid = (String) rows.get(0)[0];
+        Set<String> workerUids = new HashSet<>();
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                workerUids.add((String) row[1]);
+            }
+        }
+
+        Membership membership = new Membership(ownerUid, Set.copyOf(workerUids));
+        memberships.putIfGeneration(storeId, membership, generation);
+        return Optional.of(membership);
+    }
+
+    public void invalidate(Long storeId) {
+        memberships.invalidate(storeId);
+    }
+
+    public record Membership(String ownerUid, Set<String> workerUids) {
+
+        public boolean isOwner(String uid) {
+            return ownerUid.equals(uid);
+        }
+
+        public boolean isOwnerOrWorker(String uid) {
+            return isOwner(uid) || workerUids.contains(uid);
+        }
+    }
+}
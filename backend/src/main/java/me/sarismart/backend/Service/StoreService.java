@@ -1,64 +1,123 @@
 package me.sarismart.backend.Service;
 
 import me.sarismart.backend.Entity.Store;
+import me.sarismart.backend.Repository.ProductRepository;
+import me.sarismart.backend.Repository.SaleItemRepository;
 import me.sarismart.backend.Repository.SaleRepository;
 import me.sarismart.backend.Repository.StoreRepository;
 import me.sarismart.backend.Repository.UserRepository;
 import me.sarismart.backend.Repository.StockAdjustmentRepository;
+import me.sarismart.backend.DTO.CheckoutItem;
+import me.sarismart.backend.DTO.CheckoutRequest;
+import me.sarismart.backend.DTO.CursorPage;
+import me.sarismart.backend.DTO.NearbyStore;
+import me.sarismart.backend.DTO.SaleReceipt;
+import me.sarismart.backend.DTO.SaleSummary;
+import me.sarismart.backend.DTO.StockAdjustmentEntry;
+import me.sarismart.backend.DTO.StockAdjustmentRequest;
+import me.sarismart.backend.DTO.StockLevel;
 import me.sarismart.backend.DTO.StoreRequest;
 import me.sarismart.backend.Entity.Product;
 import me.sarismart.backend.Entity.Report;
 import me.sarismart.backend.Entity.Sale;
+import me.sarismart.backend.Entity.SaleItem;
 import me.sarismart.backend.Entity.StockAdjustment;
 import me.sarismart.backend.Entity.User;
+import me.sarismart.backend.Service.StoreLocationIndex.StoreDistance;
+import me.sarismart.backend.Util.CursorUtil;
+import me.sarismart.backend.Util.GeoUtil;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.Authentication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class StoreService {
+        private static final int MAX_PAGE_SIZE = 100;
+        // PostgreSQL caps a statement at 32767 bind parameters, so large radius
+        // lookups load their stores in IN lists of this size.
+        static final int FETCH_CHUNK_SIZE = 1000;
+        private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+        private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+        private static final int MAX_BULK_ADJUSTMENTS = 500;
+        private static final int MAX_CHECKOUT_ITEMS = 200;
+
         @Autowired
         private StoreRepository storeRepository;
 
         @Autowired
         private UserRepository userRepository;
 
+        @Autowired
+        private ProductRepository productRepository;
+
         @Autowired
         private SaleRepository saleRepository;
 
+        @Autowired
+        private SaleItemRepository saleItemRepository;
+
         @Autowired
         private StockAdjustmentRepository stockAdjustmentRepository;
         
         @Autowired
         private AuthorizationService authorizationService;
 
+        @Autowired
+        private StoreLocationIndex storeLocationIndex;
+
+        @Autowired
+        private NearbyStoreCache nearbyStoreCache;
+
+        @Autowired
+        private StoreMembershipService storeMembershipService;
+
+        @Autowired
+        private SalesSummaryService salesSummaryService;
+
+        @Autowired
+        private SalesReportCache salesReportCache;
+
+        @Autowired
+        private ProductSalesService productSalesService;
+
+        @Autowired
+        private SalesVelocityService salesVelocityService;
+
+        @Autowired
+        private ApplicationEventPublisher eventPublisher;
+
         private String getCurrentUserId() {
-                Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-                if (authentication == null || !authentication.isAuthenticated()) {
-                    throw new RuntimeException("User is not authenticated");
-                }
-            
-                Object principal = authentication.getPrincipal();
-                if (principal instanceof String userId) {
-                    return userId;
-                }
-            
-                throw new RuntimeException("Failed to retrieve user ID from authentication principal");
+                return authorizationService.getCurrentUserId();
         }
 
-        private void authorizeOwner(Store store) {
+        private Product findStoreProduct(Long storeId, Long productId) {
+                return productRepository.findByIdAndStoreId(productId, storeId)
+                        .orElseThrow(() -> new RuntimeException("Product not found"));
+        }
+
+        private void authorizeOwner(Long storeId) {
                 String currentUserId = getCurrentUserId();
-                authorizationService.authorizeOwner(store, currentUserId);
+                authorizationService.authorizeOwner(storeId, currentUserId);
         }
             
-        private void authorizeOwnerOrWorker(Store store) {
+        private void authorizeOwnerOrWorker(Long storeId) {
                 String currentUserId = getCurrentUserId();
-                authorizationService.authorizeOwnerOrWorker(store, currentUserId);
+                authorizationService.authorizeOwnerOrWorker(storeId, currentUserId);
         }
 
         public List<Store> getAllStores() {
@@ -66,7 +125,81 @@ public class StoreService {
         }
 
         public List<Store> getNearbyStores(double latitude, double longitude, double radius) {
-                return storeRepository.findNearbyStores(latitude, longitude, radius);
+                NearbyStoreCache.Key key = nearbyStoreCache.keyFor(latitude, longitude, radius);
+                List<Store> candidates = nearbyStoreCache.get(key);
+                if (candidates == null) {
+                        long generation = nearbyStoreCache.generation();
+                        candidates = fetchInOrder(storeLocationIndex.withinRadius(
+                                        key.centerLatitude(), key.centerLongitude(), key.searchRadiusKm()))
+                                .stream()
+                                .map(NearbyStore::getStore)
+                                .toList();
+                        nearbyStoreCache.put(key, candidates, generation);
+                }
+
+                return candidates.stream()
+                        .map(store -> new NearbyStore(store, GeoUtil.distanceKm(
+                                latitude, longitude, store.getLatitude(), store.getLongitude())))
+                        .filter(match -> match.getDistanceKm() <= radius)
+                        .sorted(Comparator.comparingDouble(NearbyStore::getDistanceKm))
+                        .map(NearbyStore::getStore)
+                        .toList();
+        }
+
+        public List<NearbyStore> getNearestStores(double latitude, double longitude, int k) {
+                List<StoreDistance> matches = storeLocationIndex.nearest(latitude, longitude, clampPageSize(k));
+                return fetchInOrder(matches);
+        }
+
+        public CursorPage<NearbyStore> getNearbyStoresPage(double latitude, double longitude, double radius,
+                                                           String cursor, int limit) {
+                int pageSize = clampPageSize(limit);
+                StoreDistance after = null;
+                if (cursor != null && !cursor.isEmpty()) {
+                        String[] parts = CursorUtil.decode(cursor, 2);
+                        try {
+                                double distanceKm = Double.parseDouble(parts[0]);
+                                if (!Double.isFinite(distanceKm)) {
+                                        throw new NumberFormatException(parts[0]);
+                                }
+                                after = new StoreDistance(Long.valueOf(parts[1]), distanceKm);
+                        } catch (NumberFormatException e) {
+                                throw new RuntimeException("Invalid cursor");
+                        }
+                }
+
+                List<StoreDistance> matches = storeLocationIndex.page(latitude, longitude, radius, after, pageSize + 1);
+                String nextCursor = null;
+                if (matches.size() > pageSize) {
+                        matches = matches.subList(0, pageSize);
+                        StoreDistance last = matches.get(pageSize - 1);
+                        nextCursor = CursorUtil.encode(last.distanceKm(), last.storeId());
+                }
+
+                return new CursorPage<>(fetchInOrder(matches), nextCursor);
+        }
+
+        private List<NearbyStore> fetchInOrder(List<StoreDistance> matches) {
+                if (matches.isEmpty()) {
+                        return List.of();
+                }
+
+                List<Long> ids = matches.stream().map(StoreDistance::storeId).toList();
+                Map<Long, Store> storesById = new HashMap<>();
+                for (int from = 0; from < ids.size(); from += FETCH_CHUNK_SIZE) {
+                        for (Store store : storeRepository.findByIdIn(ids.subList(from, Math.min(from + FETCH_CHUNK_SIZE, ids.size())))) {
+                                storesById.put(store.getId(), store);
+                        }
+                }
+
+                return matches.stream()
+                        .filter(match -> storesById.containsKey(match.storeId()))
+                        .map(match -> new NearbyStore(storesById.get(match.storeId()), match.distanceKm()))
+                        .toList();
+        }
+
+        private int clampPageSize(int requested) {
+                return Math.max(1, Math.min(requested, MAX_PAGE_SIZE));
         }
 
         public Optional<Store> getStoreById(Long id) {
@@ -93,30 +226,49 @@ public class StoreService {
                 newStore.setOwner(owner);
 
                 storeRepository.save(newStore);
+                storeLocationIndex.put(newStore.getId(), newStore.getLatitude(), newStore.getLongitude());
+                nearbyStoreCache.invalidateAll();
                 return newStore;
         }
 
+        @Transactional
         public void deleteStore(Long storeId) {
                 Store existingStore = storeRepository.findById(storeId)
                         .orElseThrow(() -> new RuntimeException("Store not found"));
             
-                authorizeOwner(existingStore);
+                authorizeOwner(storeId);
             
                 storeRepository.delete(existingStore);
+                salesSummaryService.deleteStore(storeId);
+                productSalesService.deleteStore(storeId);
+                salesVelocityService.deleteStore(storeId);
+                storeMembershipService.invalidate(storeId);
+
+                // Only once the delete has committed; a failed delete keeps the store findable.
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCommit() {
+                                storeLocationIndex.remove(storeId);
+                                nearbyStoreCache.invalidateAll();
+                        }
+                });
         }
 
         public Store updateStore(Long storeId, Store updatedStore) {
                 Store existingStore = storeRepository.findById(storeId)
                         .orElseThrow(() -> new RuntimeException("Store not found"));
             
-                authorizeOwner(existingStore);
+                authorizeOwner(storeId);
             
                 existingStore.setStoreName(updatedStore.getStoreName());
                 existingStore.setLocation(updatedStore.getLocation());
                 existingStore.setLatitude(updatedStore.getLatitude());
                 existingStore.setLongitude(updatedStore.getLongitude());
             
-                return storeRepository.save(existingStore);
+                Store savedStore = storeRepository.save(existingStore);
+                storeLocationIndex.put(savedStore.getId(), savedStore.getLatitude(), savedStore.getLongitude());
+                nearbyStoreCache.invalidateAll();
+                return savedStore;
         }
 
         public void assignWorker(Long storeId, String workerId) {
@@ -127,6 +279,8 @@ public class StoreService {
 
                 store.getWorkers().add(worker);
                 storeRepository.save(store);
+                storeMembershipService.invalidate(storeId);
+                nearbyStoreCache.invalidateAll();
         }
 
         public void removeWorker(Long storeId, String workerId) {
@@ -135,10 +289,12 @@ public class StoreService {
                 User worker = userRepository.findBySupabaseUid(workerId)
                         .orElseThrow(() -> new RuntimeException("Worker not found"));
 
-                authorizeOwner(store);
+                authorizeOwner(storeId);
 
                 store.getWorkers().remove(worker);
                 storeRepository.save(store);
+                storeMembershipService.invalidate(storeId);
+                nearbyStoreCache.invalidateAll();
         }
 
         public List<User> listWorkers(Long storeId) {
@@ -157,212 +313,406 @@ public class StoreService {
                 Store store = storeRepository.findById(storeId)
                         .orElseThrow(() -> new RuntimeException("Store not found"));
                 
-                authorizeOwner(store);
+                authorizeOwner(storeId);
                 
+                // Always a new product: a client-supplied id would merge over an
+                // existing one, possibly of another store. Sales counters only ever
+                // move through checkout and refunds.
+                product.setId(null);
                 product.setStore(store);
+                product.setSold(0);
+                product.setRevenue(0);
                 store.getProducts().add(product);
                 storeRepository.save(store);
                 return product;
         }
 
+        @Transactional
         public Product modifyProduct(Long storeId, Long productId, Product product) {
-                Store store = storeRepository.findById(storeId)
-                        .orElseThrow(() -> new RuntimeException("Store not found"));
-                Product existingProduct = store.getProducts().stream()
-                        .filter(p -> p.getId().equals(productId))
-                        .findFirst()
-                        .orElseThrow(() -> new RuntimeException("Product not found"));
+                authorizeOwnerOrWorker(storeId);
 
-                authorizeOwnerOrWorker(store);
+                Product existingProduct = findStoreProduct(storeId, productId);
 
                 existingProduct.setName(product.getName());
                 existingProduct.setCategory(product.getCategory());
                 existingProduct.setDescription(product.getDescription());
-                storeRepository.save(store);
-                return existingProduct;
+                return productRepository.save(existingProduct);
         }
 
+        @Transactional
         public Product modifyProductByOwner(Long storeId, Long productId, Product product) {
-                Store store = storeRepository.findById(storeId)
-                        .orElseThrow(() -> new RuntimeException("Store not found"));
-                Product existingProduct = store.getProducts().stream()
-                        .filter(p -> p.getId().equals(productId))
-                        .findFirst()
-                        .orElseThrow(() -> new RuntimeException("Product not found"));
+                authorizeOwner(storeId);
 
-                authorizeOwner(store);
+                Product existingProduct = findStoreProduct(storeId, productId);
                 
                 existingProduct.setBarcode(product.getBarcode());
                 existingProduct.setName(product.getName());
                 existingProduct.setCategory(product.getCategory());
                 existingProduct.setDescription(product.getDescription());
                 existingProduct.setPrice(product.getPrice());
-                existingProduct.setStock(existingProduct.getStock());
                 existingProduct.setReorderLevel(product.getReorderLevel());
                 
-                storeRepository.save(store);
-                return existingProduct;
+                return productRepository.save(existingProduct);
         }
 
+        @Transactional
         public void deleteProduct(Long storeId, Long productId) {
-                Store store = storeRepository.findById(storeId)
-                        .orElseThrow(() -> new RuntimeException("Store not found"));
-                Product product = store.getProducts().stream()
-                        .filter(p -> p.getId().equals(productId))
-                        .findFirst()
-                        .orElseThrow(() -> new RuntimeException("Product not found"));
-                
-                authorizeOwner(store);
+                authorizeOwner(storeId);
 
-                store.getProducts().remove(product);
-                storeRepository.save(store);
+                if (productRepository.deleteByIdAndStoreId(productId, storeId) == 0) {
+                        throw new RuntimeException("Product not found");
+                }
         }
 
+        @Transactional
         public void adjustStock(Long storeId, Long productId, int quantity) {
-                Store store = storeRepository.findById(storeId)
-                        .orElseThrow(() -> new RuntimeException("Store not found"));
-                Product product = store.getProducts().stream()
-                        .filter(p -> p.getId().equals(productId))
-                        .findFirst()
-                        .orElseThrow(() -> new RuntimeException("Product not found"));
+                authorizeOwnerOrWorker(storeId);
 
-                authorizeOwnerOrWorker(store);
+                String currentUserId = getCurrentUserId();
+                User user = userRepository.findBySupabaseUid(currentUserId)
+                        .orElseThrow(() -> new RuntimeException("User not found"));
+
+                stockAdjustmentRepository.save(applyStockDelta(storeId, productId, quantity, user, LocalDateTime.now()));
+        }
+
+        // Applies a whole delivery in one transaction. Products are updated in id order
+        // so two overlapping bulk requests lock rows in the same order and cannot
+        // deadlock; the ledger rows are flushed together as one JDBC batch.
+        @Transactional
+        public List<StockLevel> bulkAdjustStock(Long storeId, List<StockAdjustmentRequest> adjustments) {
+                authorizeOwnerOrWorker(storeId);
+
+                if (adjustments == null || adjustments.isEmpty()) {
+                        return List.of();
+                }
+                if (adjustments.size() > MAX_BULK_ADJUSTMENTS) {
+                        throw new RuntimeException("Too many stock adjustments, the maximum is " + MAX_BULK_ADJUSTMENTS);
+                }
+
+                if (adjustments.stream().anyMatch(request -> request.getProductId() == null)) {
+                        throw new RuntimeException("Product id is required");
+                }
 
                 String currentUserId = getCurrentUserId();
                 User user = userRepository.findBySupabaseUid(currentUserId)
                         .orElseThrow(() -> new RuntimeException("User not found"));
 
-                int oldStock = product.getStock();
-                int newStock = oldStock + quantity;
+                List<StockAdjustmentRequest> ordered = adjustments.stream()
+                        .sorted(Comparator.comparing(StockAdjustmentRequest::getProductId))
+                        .toList();
+
+                LocalDateTime timestamp = LocalDateTime.now();
+                List<StockAdjustment> ledger = new ArrayList<>(ordered.size());
+                Map<Long, Integer> levels = new LinkedHashMap<>();
+                for (StockAdjustmentRequest request : ordered) {
+                        StockAdjustment adjustment = applyStockDelta(storeId, request.getProductId(), request.getDelta(), user, timestamp);
+                        ledger.add(adjustment);
+                        levels.put(request.getProductId(), adjustment.getNewStock());
+                }
+                stockAdjustmentRepository.saveAll(ledger);
+
+                return levels.entrySet().stream()
+                        .map(level -> new StockLevel(level.getKey(), level.getValue()))
+                        .toList();
+        }
 
+        // Adds delta to the product's stock in one UPDATE and reads the result back
+        // while this transaction still holds the row lock, so the returned ledger
+        // entry's old/new stock matches exactly what this update did. Must run
+        // inside a transaction; the caller saves the entry.
+        private StockAdjustment applyStockDelta(Long storeId, Long productId, int delta, User user, LocalDateTime timestamp) {
+                if (productRepository.addStock(storeId, productId, delta) == 0) {
+                        throw new RuntimeException("Product not found");
+                }
+                int newStock = productRepository.findStockById(productId);
+                return ledgerEntry(storeId, productId, newStock - delta, newStock, user, timestamp);
+        }
+
+        private StockAdjustment ledgerEntry(Long storeId, Long productId, int oldStock, int newStock, User user, LocalDateTime timestamp) {
                 StockAdjustment adjustment = new StockAdjustment();
-                adjustment.setStore(store);
+                adjustment.setStore(storeRepository.getReferenceById(storeId));
                 adjustment.setUser(user);
-                adjustment.setProduct(product);
+                adjustment.setProduct(productRepository.getReferenceById(productId));
                 adjustment.setOldStock(oldStock);
                 adjustment.setNewStock(newStock);
-                adjustment.setTimestamp(LocalDateTime.now());
-                stockAdjustmentRepository.save(adjustment);
+                adjustment.setTimestamp(timestamp);
+                return adjustment;
+        }
 
-                product.setStock(newStock);
-                storeRepository.save(store);
+        // Keyset pagination over (timestamp, id), newest first, served from the
+        // (store_id[, product_id], timestamp, id) indexes as slim rows.
+        public CursorPage<StockAdjustmentEntry> getStockAdjustmentsPage(Long storeId, Long productId,
+                                                                        LocalDateTime from, LocalDateTime to,
+                                                                        String cursor, int limit) {
+                authorizeOwnerOrWorker(storeId);
+
+                int pageSize = clampPageSize(limit);
+                LocalDateTime rangeStart = from != null ? from : EARLIEST;
+                LocalDateTime rangeEnd = to != null ? to : LATEST;
+                TimeCursor after = decodeTimeCursor(cursor, rangeEnd);
+                PageRequest page = PageRequest.of(0, pageSize + 1);
+
+                List<StockAdjustmentEntry> entries = productId == null
+                        ? stockAdjustmentRepository.findStorePage(storeId, rangeStart, rangeEnd, after.time(), after.id(), page)
+                        : stockAdjustmentRepository.findProductPage(storeId, productId, rangeStart, rangeEnd, after.time(), after.id(), page);
+                String nextCursor = null;
+                if (entries.size() > pageSize) {
+                        entries = entries.subList(0, pageSize);
+                        StockAdjustmentEntry last = entries.get(pageSize - 1);
+                        nextCursor = CursorUtil.encode(last.getTimestamp(), last.getId());
+                }
+
+                return new CursorPage<>(entries, nextCursor);
         }
 
-        public List<StockAdjustment> listStockAdjustmentsByStore(Long storeId) {
-                Store store = storeRepository.findById(storeId)
-                        .orElseThrow(() -> new RuntimeException("Store not found"));
+        // A missing cursor starts just past the newest possible row: at the range end
+        // with the largest id, which the exclusive range end filters out anyway.
+        private TimeCursor decodeTimeCursor(String cursor, LocalDateTime rangeEnd) {
+                if (cursor == null || cursor.isEmpty()) {
+                        return new TimeCursor(rangeEnd, Long.MAX_VALUE);
+                }
+                String[] parts = CursorUtil.decode(cursor, 2);
+                try {
+                        return new TimeCursor(LocalDateTime.parse(parts[0]), Long.valueOf(parts[1]));
+                } catch (DateTimeParseException | NumberFormatException e) {
+                        throw new RuntimeException("Invalid cursor");
+                }
+        }
 
-                authorizeOwnerOrWorker(store);
+        private record TimeCursor(LocalDateTime time, Long id) {
+        }
+
+        public List<StockAdjustment> listStockAdjustmentsByStore(Long storeId) {
+                authorizeOwnerOrWorker(storeId);
 
                 return stockAdjustmentRepository.findByStoreId(storeId);
         }
 
         public List<StockAdjustment> listStockAdjustmentsByProduct(Long storeId, Long productId) {
-                Store store = storeRepository.findById(storeId)
-                        .orElseThrow(() -> new RuntimeException("Store not found"));
-
-                authorizeOwnerOrWorker(store);
+                authorizeOwnerOrWorker(storeId);
 
                 return stockAdjustmentRepository.findByStoreIdAndProductId(storeId, productId);
         }
 
+        @Transactional
         public void createSale(Long storeId, Sale sale) {
-                Store store = storeRepository.findById(storeId)
-                        .orElseThrow(() -> new RuntimeException("Store not found"));
+                authorizeOwnerOrWorker(storeId);
+
+                // Line items are recorded through checkout, which also moves stock.
+                sale.setId(null);
+                sale.setItems(new ArrayList<>());
+                sale.setStore(storeRepository.getReferenceById(storeId));
+                if (sale.getSaleDate() == null) {
+                        sale.setSaleDate(LocalDateTime.now());
+                }
+                saleRepository.save(sale);
+                salesSummaryService.recordSale(storeId, sale.getSaleDate(), sale.getTotalAmount());
+                salesReportCache.onSaleRecorded(storeId, sale.getSaleDate(), sale.getTotalAmount());
+        }
 
-                authorizeOwnerOrWorker(store);
+        // Records a sale with its line items in one transaction. Each line decrements
+        // stock (refusing to go below zero, which rolls the whole sale back) and adds
+        // to sold and revenue with one atomic UPDATE (in product id
+        // order, so concurrent checkouts lock rows consistently) and to the product's
+        // period counters with one upsert, and the sale, its items and
+        // the ledger entries are inserted together as JDBC batches at commit. The
+        // store's sales collection is never loaded.
+        @Transactional
+        public SaleReceipt checkout(Long storeId, CheckoutRequest request) {
+                authorizeOwnerOrWorker(storeId);
+
+                List<CheckoutItem> items = request == null ? null : request.getItems();
+                if (items == null || items.isEmpty()) {
+                        throw new RuntimeException("A sale needs at least one item");
+                }
+                if (items.size() > MAX_CHECKOUT_ITEMS) {
+                        throw new RuntimeException("Too many items in one sale, the maximum is " + MAX_CHECKOUT_ITEMS);
+                }
+                for (CheckoutItem item : items) {
+                        if (item.getProductId() == null) {
+                                throw new RuntimeException("Product id is required");
+                        }
+                        if (item.getQuantity() <= 0) {
+                                throw new RuntimeException("Quantity must be positive");
+                        }
+                        if (item.getUnitPrice() < 0) {
+                                throw new RuntimeException("Unit price cannot be negative");
+                        }
+                }
 
-                sale.setStore(store);
-                store.getSales().add(sale);
-                storeRepository.save(store);
+                String currentUserId = getCurrentUserId();
+                User user = userRepository.findBySupabaseUid(currentUserId)
+                        .orElseThrow(() -> new RuntimeException("User not found"));
+
+                LocalDateTime saleDate = LocalDateTime.now();
+                Sale sale = new Sale();
+                sale.setStore(storeRepository.getReferenceById(storeId));
+                sale.setSaleDate(saleDate);
+
+                List<CheckoutItem> ordered = items.stream()
+                        .sorted(Comparator.comparing(CheckoutItem::getProductId))
+                        .toList();
+
+                double totalAmount = 0;
+                List<StockAdjustment> ledger = new ArrayList<>(ordered.size());
+                Map<Long, Integer> levels = new LinkedHashMap<>();
+                Map<Long, Integer> unitsSold = new LinkedHashMap<>();
+                for (CheckoutItem item : ordered) {
+                        if (productRepository.recordSale(storeId, item.getProductId(), item.getQuantity(), item.getUnitPrice()) == 0) {
+                                if (!productRepository.existsByIdAndStoreId(item.getProductId(), storeId)) {
+                                        throw new RuntimeException("Product not found");
+                                }
+                                throw new RuntimeException("Insufficient stock for product " + item.getProductId());
+                        }
+                        productSalesService.recordItem(storeId, item.getProductId(), saleDate, item.getQuantity(), item.getUnitPrice());
+                        int newStock = productRepository.findStockById(item.getProductId());
+                        ledger.add(ledgerEntry(storeId, item.getProductId(), newStock + item.getQuantity(), newStock, user, saleDate));
+                        levels.put(item.getProductId(), newStock);
+                        unitsSold.merge(item.getProductId(), item.getQuantity(), Integer::sum);
+
+                        SaleItem saleItem = new SaleItem();
+                        saleItem.setSale(sale);
+                        saleItem.setProduct(productRepository.getReferenceById(item.getProductId()));
+                        saleItem.setQuantity(item.getQuantity());
+                        saleItem.setUnitPrice(item.getUnitPrice());
+                        sale.getItems().add(saleItem);
+
+                        totalAmount += item.getQuantity() * item.getUnitPrice();
+                }
+                sale.setTotalAmount(totalAmount);
+
+                Sale savedSale = saleRepository.save(sale);
+                stockAdjustmentRepository.saveAll(ledger);
+                salesSummaryService.recordSale(storeId, saleDate, totalAmount);
+                salesReportCache.onSaleRecorded(storeId, saleDate, totalAmount);
+                eventPublisher.publishEvent(new SalesVelocityService.UnitsSold(storeId, saleDate, unitsSold));
+
+                List<StockLevel> stockLevels = levels.entrySet().stream()
+                        .map(level -> new StockLevel(level.getKey(), level.getValue()))
+                        .toList();
+                return new SaleReceipt(savedSale.getId(), totalAmount, saleDate, stockLevels);
         }
 
         public Sale getSale(Long storeId, Long saleId) {
-                Store store = storeRepository.findById(storeId)
-                        .orElseThrow(() -> new RuntimeException("Store not found"));
+                authorizeOwnerOrWorker(storeId);
 
-                authorizeOwnerOrWorker(store);
-
-                return store.getSales().stream()
-                        .filter(s -> s.getId().equals(saleId))
-                        .findFirst()
+                return saleRepository.findByIdAndStoreId(saleId, storeId)
                         .orElseThrow(() -> new RuntimeException("Sale not found"));
         }
 
         public List<Sale> listSales(Long storeId) {
-                Store store = storeRepository.findById(storeId)
-                        .orElseThrow(() -> new RuntimeException("Store not found"));
-                
-                authorizeOwnerOrWorker(store);
+                authorizeOwnerOrWorker(storeId);
 
-                return store.getSales();
+                return saleRepository.findByStoreId(storeId);
         }
 
+        // Keyset pagination over (saleDate, id), newest first. Each page is one index
+        // range scan on sales(store_id, sale_date, id) no matter how deep the client
+        // has scrolled; the cursor is the sort key of the last row returned.
+        public CursorPage<SaleSummary> getSalesPage(Long storeId, LocalDateTime from, LocalDateTime to,
+                                                    String cursor, int limit) {
+                authorizeOwnerOrWorker(storeId);
+
+                int pageSize = clampPageSize(limit);
+                LocalDateTime rangeStart = from != null ? from : EARLIEST;
+                LocalDateTime rangeEnd = to != null ? to : LATEST;
+                TimeCursor after = decodeTimeCursor(cursor, rangeEnd);
+
+                List<SaleSummary> sales = saleRepository.findSalePage(storeId, rangeStart, rangeEnd,
+                        after.time(), after.id(), PageRequest.of(0, pageSize + 1));
+                String nextCursor = null;
+                if (sales.size() > pageSize) {
+                        sales = sales.subList(0, pageSize);
+                        SaleSummary last = sales.get(pageSize - 1);
+                        nextCursor = CursorUtil.encode(last.getSaleDate(), last.getId());
+                }
+
+                return new CursorPage<>(sales, nextCursor);
+        }
+
+        // Locks the sale row first so concurrent refunds of one sale serialize and
+        // only the first restores anything. Then restores the stock of every line
+        // item with one UPDATE, records the restocks in the ledger as one batch, and
+        // deletes the sale and its items with two targeted deletes. No other sale
+        // of the store is read.
+        @Transactional
         public void refundSale(Long storeId, Long saleId) {
-                Store store = storeRepository.findById(storeId)
-                        .orElseThrow(() -> new RuntimeException("Store not found"));
-                Sale sale = store.getSales().stream()
-                        .filter(s -> s.getId().equals(saleId))
-                        .findFirst()
+                authorizeOwnerOrWorker(storeId);
+
+                LocalDateTime saleDate = saleRepository.lockByIdAndStoreId(saleId, storeId)
+                        .map(Sale::getSaleDate)
                         .orElseThrow(() -> new RuntimeException("Sale not found"));
 
-                authorizeOwnerOrWorker(store);
+                String currentUserId = getCurrentUserId();
+                User user = userRepository.findBySupabaseUid(currentUserId)
+                        .orElseThrow(() -> new RuntimeException("User not found"));
 
-                store.getSales().remove(sale);
-                storeRepository.save(store);
+                productRepository.restockSale(storeId, saleId);
+                productSalesService.removeSale(storeId, saleId, saleDate);
+
+                LocalDateTime timestamp = LocalDateTime.now();
+                List<StockAdjustment> ledger = new ArrayList<>();
+                Map<Long, Integer> unitsReturned = new LinkedHashMap<>();
+                for (Object[] row : saleItemRepository.findStockLevelsBySaleId(saleId)) {
+                        Long productId = (Long) row[0];
+                        int newStock = (Integer) row[1];
+                        int quantity = ((Number) row[2]).intValue();
+                        ledger.add(ledgerEntry(storeId, productId, newStock - quantity, newStock, user, timestamp));
+                        unitsReturned.merge(productId, -quantity, Integer::sum);
+                }
+                stockAdjustmentRepository.saveAll(ledger);
+
+                saleItemRepository.deleteBySaleId(saleId);
+                if (saleRepository.deleteByIdAndStoreId(saleId, storeId) == 0) {
+                        throw new RuntimeException("Sale not found");
+                }
+                salesSummaryService.recomputeDay(storeId, saleDate.toLocalDate());
+                salesReportCache.onSaleRefunded(storeId, saleDate);
+                if (!unitsReturned.isEmpty()) {
+                        eventPublisher.publishEvent(new SalesVelocityService.UnitsSold(storeId, saleDate, unitsReturned));
+                }
         }
 
         public List<Product> restockAlert(Long storeId) {
                 Store store = storeRepository.findById(storeId)
                         .orElseThrow(() -> new RuntimeException("Store not found"));
 
-                authorizeOwnerOrWorker(store);
+                authorizeOwnerOrWorker(storeId);
 
                 return store.getProducts().stream()
                         .filter(product -> product.getStock() < product.getReorderLevel())
                         .toList();
         }
 
+        @Transactional
         public void setReorderLevel(Long storeId, Long productId, int level) {
-                Store store = storeRepository.findById(storeId)
-                        .orElseThrow(() -> new RuntimeException("Store not found"));
-                Product product = store.getProducts().stream()
-                        .filter(p -> p.getId().equals(productId))
-                        .findFirst()
-                        .orElseThrow(() -> new RuntimeException("Product not found"));
-
-                authorizeOwnerOrWorker(store);
+                authorizeOwnerOrWorker(storeId);
 
-                product.setReorderLevel(level);
-                storeRepository.save(store);
+                if (productRepository.updateReorderLevel(storeId, productId, level) == 0) {
+                        throw new RuntimeException("Product not found");
+                }
         }
 
+        // Today comes from the live accumulator and the rest of the month from the
+        // cached rollup totals of its closed days, so warm calls touch no tables.
         public Report dailySales(Long storeId) {
-                LocalDateTime startOfDay = LocalDateTime.now().toLocalDate().atStartOfDay();
-                LocalDateTime endOfDay = startOfDay.plusDays(1);
-
-                List<Sale> todaySales = saleRepository.findByStoreIdAndSaleDateBetween(storeId, startOfDay, endOfDay);
+                SalesReportCache.Totals today = salesReportCache.today(storeId);
+                return new Report("Daily", "Today", today.totalSales(), (int) today.totalTransactions());
+        }
 
-                double totalAmount = todaySales.stream()
-                        .mapToDouble(Sale::getTotalAmount)
-                        .sum();
-                int numberOfSales = todaySales.size();
+        // Owner-only repair: recomputes the store's daily rollup from its sales.
+        public void rebuildSalesSummary(Long storeId) {
+                authorizeOwner(storeId);
 
-                return new Report("Daily", "Today", totalAmount, numberOfSales);
+                salesSummaryService.rebuildStore(storeId);
         }
 
         public Report monthlySales(Long storeId) {
-                LocalDateTime startOfMonth = LocalDateTime.now().withDayOfMonth(1).toLocalDate().atStartOfDay();
-                LocalDateTime endOfMonth = startOfMonth.plusMonths(1);
-
-                List<Sale> monthlySales = saleRepository.findByStoreIdAndSaleDateBetween(storeId, startOfMonth, endOfMonth);
-
-                double totalAmount = monthlySales.stream()
-                        .mapToDouble(Sale::getTotalAmount)
-                        .sum();
-                int numberOfSales = monthlySales.size();
-
-                return new Report("Monthly", "This Month", totalAmount, numberOfSales);
+                LocalDate today = LocalDate.now();
+                SalesReportCache.Totals closedDays = salesReportCache.closedDays(storeId, today.withDayOfMonth(1), today);
+                SalesReportCache.Totals month = salesReportCache.today(storeId)
+                        .plus(closedDays.totalSales(), closedDays.totalTransactions());
+                return new Report("Monthly", "This Month", month.totalSales(), (int) month.totalTransactions());
         }
 
         public List<Product> inventoryStatus(Long storeId) {
@@ -1,28 +1,51 @@
 package me.sarismart.backend.Service;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
 import me.sarismart.backend.Config.AppConfig;
+import me.sarismart.backend.Util.BoundedCache;
+import me.sarismart.backend.Util.HashUtil;
 
 import org.json.JSONObject;
 import org.json.JSONException;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class SupabaseAuthService {
     private final AppConfig appConfig;
 
+    // Concurrent refreshes of the same token share one upstream call, and a
+    // successful result is replayed for a few seconds to late duplicates.
+    // Both are keyed by the token's digest, never the raw refresh token.
+    private final Map<String, CompletableFuture<ResponseEntity<Object>>> inFlightRefreshes = new ConcurrentHashMap<>();
+    private final BoundedCache<String, ResponseEntity<Object>> recentRefreshes;
+    private final Counter coalescedRefreshes;
+
     @Autowired
-    public SupabaseAuthService(AppConfig appConfig) {
+    public SupabaseAuthService(AppConfig appConfig,
+                               MeterRegistry meterRegistry,
+                               @Value("${sarismart.cache.refresh-sessions.max-entries:1000}") int maxRecentRefreshes,
+                               @Value("${sarismart.cache.refresh-sessions.ttl:PT10S}") Duration recentRefreshTtl) {
         this.appConfig = appConfig;
+        this.recentRefreshes = new BoundedCache<String, ResponseEntity<Object>>(maxRecentRefreshes, recentRefreshTtl)
+                .registerMetrics(meterRegistry, "refresh-sessions");
+        this.coalescedRefreshes = Counter.builder("sarismart.supabase.refresh.coalesced")
+                .description("Refresh requests that joined an in-flight upstream call")
+                .register(meterRegistry);
     }
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Autowired
+    private SupabaseHttpClient supabaseHttpClient;
 
     @Autowired
     private UserService userService;
@@ -51,7 +74,7 @@ public class SupabaseAuthService {
         HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
 
         try {
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
+            ResponseEntity<String> response = supabaseHttpClient.exchange(url, HttpMethod.POST, entity);
 
             // Print status and body for debugging in Render
             System.out.println("Supabase signUp response status: " + response.getStatusCode());
@@ -78,6 +101,9 @@ public class SupabaseAuthService {
                         .body(Map.of("error", "Error parsing Supabase response: " + e.getMessage()));
             }
 
+        } catch (SupabaseUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Authentication service is temporarily unavailable", "details", e.getMessage()));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -99,7 +125,7 @@ public class SupabaseAuthService {
         HttpEntity<Map<String, String>> entity = new HttpEntity<>(body, headers);
 
         try {
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
+            ResponseEntity<String> response = supabaseHttpClient.exchange(url, HttpMethod.POST, entity);
 
             // Print status and body for debugging in Render
             System.out.println("Supabase signIn response status: " + response.getStatusCode());
@@ -115,6 +141,9 @@ public class SupabaseAuthService {
                 return ResponseEntity.status(response.getStatusCode())
                         .body(Map.of("error", "Failed to sign in", "details", response.getBody()));
             }
+        } catch (SupabaseUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Authentication service is temporarily unavailable", "details", e.getMessage()));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -123,6 +152,45 @@ public class SupabaseAuthService {
     }
     
     public ResponseEntity<Object> refreshSession(String refreshToken) {
+        String tokenDigest = HashUtil.sha256(refreshToken);
+        ResponseEntity<Object> recent = recentRefreshes.get(tokenDigest);
+        if (recent != null) {
+            coalescedRefreshes.increment();
+            return recent;
+        }
+
+        CompletableFuture<ResponseEntity<Object>> call = new CompletableFuture<>();
+        CompletableFuture<ResponseEntity<Object>> inFlight = inFlightRefreshes.putIfAbsent(tokenDigest, call);
+        if (inFlight != null) {
+            coalescedRefreshes.increment();
+            return inFlight.join();
+        }
+
+        try {
+            // A call that finished between our cache check and putIfAbsent has already
+            // rotated the token; reuse its result instead of refreshing twice.
+            recent = recentRefreshes.get(tokenDigest);
+            if (recent != null) {
+                coalescedRefreshes.increment();
+                call.complete(recent);
+                return recent;
+            }
+
+            ResponseEntity<Object> response = requestSessionRefresh(refreshToken);
+            if (response.getStatusCode().is2xxSuccessful()) {
+                recentRefreshes.put(tokenDigest, response);
+            }
+            call.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightRefreshes.remove(tokenDigest, call);
+        }
+    }
+
+    private ResponseEntity<Object> requestSessionRefresh(String refreshToken) {
         String url = appConfig.getUrl() + "/auth/v1/token?grant_type=refresh_token";
     
         HttpHeaders headers = new HttpHeaders();
@@ -135,7 +203,7 @@ public class SupabaseAuthService {
         HttpEntity<Map<String, String>> entity = new HttpEntity<>(body, headers);
     
         try {
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
+            ResponseEntity<String> response = supabaseHttpClient.exchange(url, HttpMethod.POST, entity);
     
             // Print status and body for debugging
             System.out.println("Supabase refreshSession response status: " + response.getStatusCode());
@@ -148,6 +216,9 @@ public class SupabaseAuthService {
                 return ResponseEntity.status(response.getStatusCode())
                         .body(Map.of("error", "Failed to refresh session", "details", response.getBody()));
             }
+        } catch (SupabaseUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Authentication service is temporarily unavailable", "details", e.getMessage()));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -166,7 +237,7 @@ public class SupabaseAuthService {
         HttpEntity<Void> entity = new HttpEntity<>(headers);
     
         try {
-            ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.GET, entity, String.class);
+            ResponseEntity<String> response = supabaseHttpClient.exchange(url, HttpMethod.GET, entity);
     
             // Print status and body for debugging in Render
             System.out.println("Supabase getUserDetails response status: " + response.getStatusCode());
@@ -179,6 +250,9 @@ public class SupabaseAuthService {
                 return ResponseEntity.status(response.getStatusCode())
                         .body(Map.of("error", "Failed to retrieve user details", "details", response.getBody()));
             }
+        } catch (SupabaseUnavailableException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .body(Map.of("error", "Authentication service is temporarily unavailable", "details", e.getMessage()));
         } catch (Exception e) {
             e.printStackTrace();
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -0,0 +1,116 @@
+package me.sarismart.backend.Service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import me.sarismart.backend.Util.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+// Guarded access to the Supabase auth API. A semaphore bulkhead caps how many
+// request threads can be waiting on Supabase at once, and a circuit breaker fails
+// fast while Supabase keeps timing out or returning 5xx. 4xx responses mean
+// Supabase is healthy and rejected the request, so they never trip the breaker.
+@Component
+public class SupabaseHttpClient {
+
+    private final RestTemplate restTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore bulkhead;
+    private final long bulkheadWaitMillis;
+    private final CircuitBreaker circuitBreaker;
+
+    public SupabaseHttpClient(@Qualifier("supabaseRestTemplate") RestTemplate restTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${sarismart.supabase.http.max-concurrent-calls:10}") int maxConcurrentCalls,
+                              @Value("${sarismart.supabase.http.bulkhead-wait:PT0.5S}") Duration bulkheadWait,
+                              @Value("${sarismart.supabase.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                              @Value("${sarismart.supabase.circuit-breaker.open-duration:PT30S}") Duration openDuration) {
+        this.restTemplate = restTemplate;
+        this.meterRegistry = meterRegistry;
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+        this.bulkheadWaitMillis = bulkheadWait.toMillis();
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration.toMillis());
+
+        Gauge.builder("sarismart.supabase.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .register(meterRegistry);
+        Gauge.builder("sarismart.supabase.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal())
+                .description("0 = closed, 1 = open, 2 = half-open")
+                .register(meterRegistry);
+    }
+
+    public ResponseEntity<String> exchange(String url, HttpMethod method, HttpEntity<?> entity) {
+        boolean permitted;
+        try {
+            permitted = bulkhead.tryAcquire(bulkheadWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SupabaseUnavailableException("Interrupted while waiting to call Supabase", e);
+        }
+        if (!permitted) {
+            rejected("bulkhead_full");
+            throw new SupabaseUnavailableException("Too many concurrent requests to Supabase");
+        }
+
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                rejected("circuit_open");
+                throw new SupabaseUnavailableException("Supabase is currently unavailable");
+            }
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            String outcome = "success";
+            try {
+                ResponseEntity<String> response = restTemplate.exchange(url, method, entity, String.class);
+                circuitBreaker.onSuccess();
+                return response;
+            } catch (HttpClientErrorException e) {
+                circuitBreaker.onSuccess();
+                outcome = "client_error";
+                throw e;
+            } catch (HttpServerErrorException e) {
+                circuitBreaker.onFailure();
+                outcome = "server_error";
+                throw e;
+            } catch (ResourceAccessException e) {
+                circuitBreaker.onFailure();
+                outcome = "io_error";
+                throw new SupabaseUnavailableException("Supabase did not respond: " + e.getMessage(), e);
+            } catch (RuntimeException e) {
+                circuitBreaker.onFailure();
+                outcome = "error";
+                throw e;
+            } finally {
+                sample.stop(Timer.builder("sarismart.supabase.requests")
+                        .tag("outcome", outcome)
+                        .register(meterRegistry));
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    public CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    private void rejected(String reason) {
+        Counter.builder("sarismart.supabase.rejected")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,12 @@
+package me.sarismart.backend.Service;
+
+public class SupabaseUnavailableException extends RuntimeException {
+
+    public SupabaseUnavailableException(String message) {
+        super(message);
+    }
+
+    public SupabaseUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,9 +1,17 @@
 package me.sarismart.backend.Service;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
 import me.sarismart.backend.Entity.User;
 import me.sarismart.backend.Repository.UserRepository;
+import me.sarismart.backend.Util.BoundedCache;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -12,6 +20,16 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    // Profile fields from the users table, keyed by Supabase uid.
+    private final BoundedCache<String, Map<String, Object>> profileCache;
+
+    public UserService(MeterRegistry meterRegistry,
+                       @Value("${sarismart.cache.user-profiles.max-entries:5000}") int maxProfiles,
+                       @Value("${sarismart.cache.user-profiles.ttl:PT15M}") Duration profileTtl) {
+        this.profileCache = new BoundedCache<String, Map<String, Object>>(maxProfiles, profileTtl)
+                .registerMetrics(meterRegistry, "user-profiles");
+    }
+
     public boolean existsByEmail(String email) {
         return userRepository.existsByEmail(email);
     }
@@ -27,7 +45,9 @@ public class UserService {
         user.setFullName(fullName);
         user.setPhone(phone);
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        profileCache.put(savedUser.getSupabaseUid(), storedProfile(savedUser));
+        return savedUser;
     }
 
     public User getUserByEmail(String email) {
@@ -37,4 +57,47 @@ public class UserService {
     public Optional<User> getUserBySupabaseUid(String uid) {
         return userRepository.findBySupabaseUid(uid);
     }
+
+    // Builds the same shape Supabase returns from /auth/v1/user out of our users
+    // row and the already-verified token claims. Empty when the user only exists
+    // in Supabase, in which case callers fall back to asking Supabase.
+    public Optional<Map<String, Object>> getUserProfile(Claims claims) {
+        String uid = claims.getSubject();
+        Map<String, Object> stored = profileCache.get(uid);
+        if (stored == null) {
+            long generation = profileCache.generation();
+            Optional<User> user = userRepository.findBySupabaseUid(uid);
+            if (user.isEmpty()) {
+                return Optional.empty();
+            }
+            stored = storedProfile(user.get());
+            profileCache.putIfGeneration(uid, stored, generation);
+        }
+
+        Map<String, Object> userMetadata = new HashMap<>();
+        Object claimedMetadata = claims.get("user_metadata");
+        if (claimedMetadata instanceof Map<?, ?> metadata) {
+            metadata.forEach((key, value) -> userMetadata.put(String.valueOf(key), value));
+        }
+        userMetadata.put("full_name", stored.get("full_name"));
+        userMetadata.put("phone", stored.get("phone"));
+
+        Map<String, Object> profile = new LinkedHashMap<>();
+        profile.put("id", uid);
+        profile.put("aud", claims.getAudience());
+        profile.put("role", claims.get("role", String.class));
+        profile.put("email", stored.get("email"));
+        profile.put("phone", stored.get("phone"));
+        profile.put("app_metadata", claims.getOrDefault("app_metadata", Map.of()));
+        profile.put("user_metadata", userMetadata);
+        return Optional.of(profile);
+    }
+
+    private Map<String, Object> storedProfile(User user) {
+        Map<String, Object> stored = new HashMap<>();
+        stored.put("email", user.getEmail());
+        stored.put("full_name", user.getFullName());
+        stored.put("phone", user.getPhone());
+        return stored;
+    }
 }
@@ -0,0 +1,122 @@
+package me.sarismart.backend.Util;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Small size-bounded LRU cache with per-entry expiry. Entries expire after the
+// default TTL unless an explicit expiry is given on put. Every invalidation bumps
+// a generation counter so callers that load outside the lock can avoid writing
+// back a value that was computed before the invalidation.
+public class BoundedCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private long generation;
+
+    public BoundedCache(int maxSize, Duration ttl) {
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.expiresAtMillis() <= System.currentTimeMillis()) {
+            entries.remove(key);
+            evictions.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.value();
+    }
+
+    public void put(K key, V value) {
+        put(key, value, System.currentTimeMillis() + ttlMillis);
+    }
+
+    public synchronized void put(K key, V value, long expiresAtMillis) {
+        entries.put(key, new Entry<>(value, Math.min(expiresAtMillis, System.currentTimeMillis() + ttlMillis)));
+    }
+
+    // Stores the value only if nothing was invalidated since the given generation.
+    public synchronized boolean putIfGeneration(K key, V value, long expectedGeneration) {
+        if (generation != expectedGeneration) {
+            return false;
+        }
+        put(key, value);
+        return true;
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void invalidate(K key) {
+        entries.remove(key);
+        generation++;
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        generation++;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long hitCount() {
+        return hits.get();
+    }
+
+    public long missCount() {
+        return misses.get();
+    }
+
+    public long evictionCount() {
+        return evictions.get();
+    }
+
+    public BoundedCache<K, V> registerMetrics(MeterRegistry registry, String cacheName) {
+        FunctionCounter.builder("sarismart.cache.gets", this, BoundedCache::hitCount)
+                .tag("cache", cacheName).tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("sarismart.cache.gets", this, BoundedCache::missCount)
+                .tag("cache", cacheName).tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("sarismart.cache.evictions", this, BoundedCache::evictionCount)
+                .tag("cache", cacheName)
+                .register(registry);
+        Gauge.builder("sarismart.cache.size", this, BoundedCache::size)
+                .tag("cache", cacheName)
+                .register(registry);
+        return this;
+    }
+
+    private record Entry<V>(V value, long expiresAtMillis) {
+    }
+}
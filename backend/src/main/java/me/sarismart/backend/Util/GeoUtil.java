@@ -0,0 +1,45 @@
+package me.sarismart.backend.Util;
+
+public final class GeoUtil {
+
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    private GeoUtil() {
+    }
+
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    // Smallest lat/lon rectangle containing every point within radiusKm of the center.
+    // Falls back to the full longitude range near the poles or when the box would
+    // wrap across the antimeridian.
+    public static BoundingBox boundingBox(double latitude, double longitude, double radiusKm) {
+        double latDelta = Math.toDegrees(radiusKm / EARTH_RADIUS_KM);
+        double minLat = latitude - latDelta;
+        double maxLat = latitude + latDelta;
+
+        if (minLat <= -90 || maxLat >= 90) {
+            return new BoundingBox(Math.max(minLat, -90), Math.min(maxLat, 90), -180, 180);
+        }
+
+        double lonDelta = Math.toDegrees(Math.asin(Math.min(1.0,
+                Math.sin(radiusKm / EARTH_RADIUS_KM) / Math.cos(Math.toRadians(latitude)))));
+        double minLon = longitude - lonDelta;
+        double maxLon = longitude + lonDelta;
+
+        if (minLon < -180 || maxLon > 180) {
+            return new BoundingBox(minLat, maxLat, -180, 180);
+        }
+
+        return new BoundingBox(minLat, maxLat, minLon, maxLon);
+    }
+
+    public record BoundingBox(double minLat, double maxLat, double minLon, double maxLon) {
+    }
+}
@@ -0,0 +1,11 @@
+-- StockAdjustment ids move from IDENTITY to a pooled sequence (allocation size 50)
+-- so ledger inserts can be JDBC-batched. On an existing database the sequence has
+-- to start past the ids the identity column already handed out.
+CREATE SEQUENCE IF NOT EXISTS stock_adjustments_seq START WITH 1 INCREMENT BY 50;
+
+DO $$
+BEGIN
+    IF to_regclass('public.stock_adjustments') IS NOT NULL THEN
+        PERFORM setval('stock_adjustments_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM stock_adjustments));
+    END IF;
+END $$;
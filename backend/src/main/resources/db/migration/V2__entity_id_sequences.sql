@@ -0,0 +1,18 @@
+-- Products, sales and stores move from IDENTITY to pooled sequences (allocation
+-- size 50), like stock_adjustments in V1, so their inserts can be batched too.
+-- Each sequence starts past the ids the identity columns already handed out.
+CREATE SEQUENCE IF NOT EXISTS products_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS sales_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS stores_seq START WITH 1 INCREMENT BY 50;
+
+DO $$
+DECLARE
+    entity_table text;
+BEGIN
+    FOREACH entity_table IN ARRAY ARRAY['products', 'sales', 'stores'] LOOP
+        IF to_regclass('public.' || entity_table) IS NOT NULL THEN
+            EXECUTE format('SELECT setval(%L, (SELECT COALESCE(MAX(id), 0) + 50 FROM %I))',
+                           entity_table || '_seq', entity_table);
+        END IF;
+    END LOOP;
+END $$;
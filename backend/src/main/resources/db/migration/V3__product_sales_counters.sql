@@ -0,0 +1,39 @@
+-- Products gain a revenue counter next to sold, and per-period counters move into
+-- product_sales_periods. Both are backfilled from the line items recorded so far;
+-- from here on checkout and refunds keep them current.
+CREATE TABLE IF NOT EXISTS product_sales_periods (
+    store_id bigint NOT NULL,
+    period_type varchar(8) NOT NULL,
+    period_start date NOT NULL,
+    product_id bigint NOT NULL,
+    quantity bigint NOT NULL,
+    revenue double precision NOT NULL,
+    PRIMARY KEY (store_id, period_type, period_start, product_id)
+);
+CREATE INDEX IF NOT EXISTS idx_product_sales_periods_top
+    ON product_sales_periods (store_id, period_type, period_start, quantity);
+
+DO $$
+BEGIN
+    IF to_regclass('public.products') IS NOT NULL THEN
+        ALTER TABLE products ADD COLUMN IF NOT EXISTS revenue double precision NOT NULL DEFAULT 0;
+    END IF;
+
+    IF to_regclass('public.sale_items') IS NOT NULL THEN
+        UPDATE products p
+        SET revenue = i.revenue
+        FROM (SELECT product_id, SUM(quantity * unit_price) AS revenue
+              FROM sale_items
+              GROUP BY product_id) i
+        WHERE p.id = i.product_id;
+
+        INSERT INTO product_sales_periods (store_id, period_type, period_start, product_id, quantity, revenue)
+        SELECT s.store_id, p.period_type, CAST(date_trunc(p.unit, s.sale_date) AS date), i.product_id,
+               SUM(i.quantity), SUM(i.quantity * i.unit_price)
+        FROM sale_items i
+        JOIN sales s ON s.id = i.sale_id
+        CROSS JOIN (VALUES ('DAY', 'day'), ('WEEK', 'week'), ('MONTH', 'month')) AS p (period_type, unit)
+        GROUP BY s.store_id, p.period_type, CAST(date_trunc(p.unit, s.sale_date) AS date), i.product_id
+        ON CONFLICT (store_id, period_type, period_start, product_id) DO NOTHING;
+    END IF;
+END $$;
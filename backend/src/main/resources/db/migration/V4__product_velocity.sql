@@ -0,0 +1,26 @@
+-- Exponentially weighted sales rate per product, in units per day as of
+-- updated_at. Seeded once from the last four weeks of line items with the
+-- default seven-day half-life (ln 2 / 7 per day); older sales contribute
+-- under 7% and are left out. From here on checkouts and refunds update it.
+CREATE TABLE IF NOT EXISTS product_velocity (
+    product_id bigint PRIMARY KEY,
+    store_id bigint NOT NULL,
+    velocity double precision NOT NULL,
+    updated_at timestamp(6) NOT NULL
+);
+CREATE INDEX IF NOT EXISTS idx_product_velocity_store_id ON product_velocity (store_id);
+
+DO $$
+BEGIN
+    IF to_regclass('public.sale_items') IS NOT NULL THEN
+        INSERT INTO product_velocity (product_id, store_id, velocity, updated_at)
+        SELECT i.product_id, s.store_id,
+               SUM(i.quantity * (ln(2) / 7) * exp(-(ln(2) / 7) * EXTRACT(EPOCH FROM (now()::timestamp - s.sale_date)) / 86400.0)),
+               now()::timestamp
+        FROM sale_items i
+        JOIN sales s ON s.id = i.sale_id
+        WHERE s.sale_date >= now()::timestamp - interval '28 days'
+        GROUP BY i.product_id, s.store_id
+        ON CONFLICT (product_id) DO NOTHING;
+    END IF;
+END $$;
@@ -0,0 +1,74 @@
+package me.sarismart.backend.Service;
+
+import me.sarismart.backend.Entity.Store;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// More stores in range than PostgreSQL accepts bind parameters in one
+// statement: the lookup must load them in chunks and still return every one.
+@SpringBootTest
+@ActiveProfiles("test")
+class NearbyStoresChunkingTest {
+
+	private static final long FIRST_ID = 900_000_000L;
+	private static final int STORES = 33_000;
+	private static final double LATITUDE = 0.0;
+	private static final double LONGITUDE = -160.0;
+
+	@Autowired
+	private StoreService storeService;
+
+	@Autowired
+	private StoreLocationIndex storeLocationIndex;
+
+	@Autowired
+	private NearbyStoreCache nearbyStoreCache;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@AfterEach
+	void removeStores() {
+		jdbcTemplate.update("DELETE FROM stores WHERE id >= ?", FIRST_ID);
+		for (int i = 0; i < STORES; i++) {
+			storeLocationIndex.remove(FIRST_ID + i);
+		}
+		nearbyStoreCache.invalidateAll();
+	}
+
+	@Test
+	void largeRadiusLoadsMoreStoresThanOneStatementCanBind() {
+		assertThat(STORES).isGreaterThan(32767);
+		assertThat(STORES).isGreaterThan(StoreService.FETCH_CHUNK_SIZE);
+
+		String ownerId = UUID.randomUUID().toString();
+		jdbcTemplate.update("INSERT INTO users (supabase_uid, email) VALUES (?, ?)", ownerId, ownerId + "@example.com");
+
+		List<Object[]> rows = new ArrayList<>(STORES);
+		for (int i = 0; i < STORES; i++) {
+			long id = FIRST_ID + i;
+			// A 200 x 165 grid, roughly 20 km across.
+			double latitude = LATITUDE + (i % 200) * 0.001;
+			double longitude = LONGITUDE + (i / 200) * 0.001;
+			rows.add(new Object[]{id, "Bulk Store " + id, "Pacific", latitude, longitude, ownerId});
+			storeLocationIndex.put(id, latitude, longitude);
+		}
+		jdbcTemplate.batchUpdate(
+				"INSERT INTO stores (id, store_name, location, latitude, longitude, owner_id) VALUES (?, ?, ?, ?, ?, ?)", rows);
+
+		List<Store> stores = storeService.getNearbyStores(LATITUDE, LONGITUDE, 1000);
+
+		assertThat(stores).hasSize(STORES);
+		assertThat(stores.get(0).getId()).isEqualTo(FIRST_ID);
+	}
+}
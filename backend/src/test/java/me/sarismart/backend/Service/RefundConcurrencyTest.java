@@ -0,0 +1,142 @@
+package me.sarismart.backend.Service;
+
+import me.sarismart.backend.Entity.Product;
+import me.sarismart.backend.Entity.Sale;
+import me.sarismart.backend.Entity.SaleItem;
+import me.sarismart.backend.Entity.Store;
+import me.sarismart.backend.Entity.User;
+import me.sarismart.backend.Repository.ProductRepository;
+import me.sarismart.backend.Repository.SaleRepository;
+import me.sarismart.backend.Repository.StockAdjustmentRepository;
+import me.sarismart.backend.Repository.StoreRepository;
+import me.sarismart.backend.Repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class RefundConcurrencyTest {
+
+	private static final int THREADS = 2;
+	private static final int STOCK_AFTER_SALE = 90;
+	private static final int QUANTITY = 10;
+	private static final double UNIT_PRICE = 25;
+
+	@Autowired
+	private StoreService storeService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StoreRepository storeRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private SaleRepository saleRepository;
+
+	@Autowired
+	private StockAdjustmentRepository stockAdjustmentRepository;
+
+	@AfterEach
+	void clearSecurityContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void concurrentRefundsRestoreStockOnce() throws Exception {
+		User owner = new User();
+		owner.setSupabaseUid(UUID.randomUUID().toString());
+		owner.setEmail(owner.getSupabaseUid() + "@example.com");
+		userRepository.save(owner);
+
+		Store store = new Store();
+		store.setStoreName("Refund Store " + owner.getSupabaseUid());
+		store.setLocation("Cebu City");
+		store.setLatitude(10.3157);
+		store.setLongitude(123.8854);
+		store.setOwner(owner);
+		store = storeRepository.save(store);
+
+		// The state a checkout of QUANTITY units leaves behind.
+		Product product = new Product();
+		product.setBarcode("4800000000002");
+		product.setName("Instant Noodles");
+		product.setPrice(UNIT_PRICE);
+		product.setStock(STOCK_AFTER_SALE);
+		product.setSold(QUANTITY);
+		product.setRevenue(QUANTITY * UNIT_PRICE);
+		product.setStore(store);
+		product = productRepository.save(product);
+
+		Sale sale = new Sale();
+		sale.setStore(store);
+		sale.setSaleDate(LocalDateTime.now());
+		sale.setTotalAmount(QUANTITY * UNIT_PRICE);
+		SaleItem item = new SaleItem();
+		item.setSale(sale);
+		item.setProduct(product);
+		item.setQuantity(QUANTITY);
+		item.setUnitPrice(UNIT_PRICE);
+		sale.getItems().add(item);
+		sale = saleRepository.save(sale);
+
+		Long storeId = store.getId();
+		Long productId = product.getId();
+		Long saleId = sale.getId();
+		String ownerId = owner.getSupabaseUid();
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> results = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			results.add(executor.submit(() -> {
+				SecurityContextHolder.getContext().setAuthentication(
+						new UsernamePasswordAuthenticationToken(ownerId, null, List.of()));
+				start.await();
+				storeService.refundSale(storeId, saleId);
+				return null;
+			}));
+		}
+		start.countDown();
+		int succeeded = 0;
+		for (Future<?> result : results) {
+			try {
+				result.get(60, TimeUnit.SECONDS);
+				succeeded++;
+			} catch (ExecutionException e) {
+				// The losing refund must fail rather than report success.
+			}
+		}
+		executor.shutdown();
+
+		assertThat(succeeded).isEqualTo(1);
+		assertThat(saleRepository.existsById(saleId)).isFalse();
+
+		Product refunded = productRepository.findById(productId).orElseThrow();
+		assertThat(refunded.getStock()).isEqualTo(STOCK_AFTER_SALE + QUANTITY);
+		assertThat(refunded.getSold()).isZero();
+		assertThat(refunded.getRevenue()).isZero();
+		assertThat(stockAdjustmentRepository.findByStoreIdAndProductId(storeId, productId)).hasSize(1);
+	}
+}
@@ -0,0 +1,123 @@
+package me.sarismart.backend.Service;
+
+import me.sarismart.backend.Entity.DailySalesSummary;
+import me.sarismart.backend.Entity.DailySalesSummaryId;
+import me.sarismart.backend.Repository.DailySalesSummaryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Drives the live day through the window the in-flight guard protects: another
+// thread loads today after a sale has committed but before the cache has
+// applied it. Without the guard that load would be kept and the sale added on
+// top of it a second time.
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "sarismart.cache.report-buckets.live-max-age=PT1S")
+class SalesReportCacheTest {
+
+	@Autowired
+	private SalesReportCache salesReportCache;
+
+	@Autowired
+	private DailySalesSummaryRepository dailySalesSummaryRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final ExecutorService reader = Executors.newSingleThreadExecutor();
+
+	@AfterEach
+	void stopReader() {
+		reader.shutdownNow();
+	}
+
+	@Test
+	void loadDuringCommitNeverDoubleCounts() throws Exception {
+		Long storeId = ThreadLocalRandom.current().nextLong(1_000_000, Long.MAX_VALUE);
+		DailySalesSummaryId today = new DailySalesSummaryId(storeId, LocalDate.now());
+
+		// Checkout: the reader sees the committed rollup row while the sale is in flight.
+		AtomicReference<SalesReportCache.Totals> seen = new AtomicReference<>();
+		commitWithLoadAfterCommit(storeId, seen, () -> {
+			dailySalesSummaryRepository.save(new DailySalesSummary(today, 50, 1, 50, 50));
+			salesReportCache.onSaleRecorded(storeId, LocalDateTime.now(), 50);
+		});
+		assertThat(seen.get()).isEqualTo(new SalesReportCache.Totals(50, 1));
+		assertThat(salesReportCache.today(storeId)).isEqualTo(new SalesReportCache.Totals(50, 1));
+
+		// A second checkout is added to the loaded accumulator.
+		commitWithLoadAfterCommit(storeId, seen, () -> {
+			dailySalesSummaryRepository.save(new DailySalesSummary(today, 80, 2, 30, 50));
+			salesReportCache.onSaleRecorded(storeId, LocalDateTime.now(), 30);
+		});
+		assertThat(salesReportCache.today(storeId)).isEqualTo(new SalesReportCache.Totals(80, 2));
+
+		// Refund of the first sale: the accumulator is reloaded from the recomputed row.
+		commitWithLoadAfterCommit(storeId, seen, () -> {
+			dailySalesSummaryRepository.save(new DailySalesSummary(today, 30, 1, 30, 30));
+			salesReportCache.onSaleRefunded(storeId, LocalDateTime.now());
+		});
+		assertThat(salesReportCache.today(storeId)).isEqualTo(new SalesReportCache.Totals(30, 1));
+	}
+
+	@Test
+	void rolledBackSaleIsNotApplied() {
+		Long storeId = ThreadLocalRandom.current().nextLong(1_000_000, Long.MAX_VALUE);
+		assertThat(salesReportCache.today(storeId)).isEqualTo(new SalesReportCache.Totals(0, 0));
+
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			dailySalesSummaryRepository.save(new DailySalesSummary(new DailySalesSummaryId(storeId, LocalDate.now()), 40, 1, 40, 40));
+			salesReportCache.onSaleRecorded(storeId, LocalDateTime.now(), 40);
+			status.setRollbackOnly();
+		});
+		assertThat(salesReportCache.today(storeId)).isEqualTo(new SalesReportCache.Totals(0, 0));
+	}
+
+	@Test
+	void changesMadeElsewhereShowUpAfterMaxAge() throws Exception {
+		Long storeId = ThreadLocalRandom.current().nextLong(1_000_000, Long.MAX_VALUE);
+		assertThat(salesReportCache.today(storeId)).isEqualTo(new SalesReportCache.Totals(0, 0));
+
+		// Written without going through the cache, as another instance would.
+		dailySalesSummaryRepository.save(new DailySalesSummary(new DailySalesSummaryId(storeId, LocalDate.now()), 70, 2, 20, 50));
+
+		TimeUnit.MILLISECONDS.sleep(1100);
+		assertThat(salesReportCache.today(storeId)).isEqualTo(new SalesReportCache.Totals(70, 2));
+	}
+
+	// Runs work in a transaction and, between its commit and the cache's own
+	// after-completion step, loads today on another thread.
+	private void commitWithLoadAfterCommit(Long storeId, AtomicReference<SalesReportCache.Totals> seen, Runnable work) {
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			work.run();
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					try {
+						seen.set(reader.submit(() -> salesReportCache.today(storeId)).get(10, TimeUnit.SECONDS));
+					} catch (Exception e) {
+						throw new IllegalStateException(e);
+					}
+				}
+			});
+		});
+	}
+}
@@ -0,0 +1,118 @@
+package me.sarismart.backend.Service;
+
+import me.sarismart.backend.Entity.Product;
+import me.sarismart.backend.Entity.StockAdjustment;
+import me.sarismart.backend.Entity.Store;
+import me.sarismart.backend.Entity.User;
+import me.sarismart.backend.Repository.ProductRepository;
+import me.sarismart.backend.Repository.StockAdjustmentRepository;
+import me.sarismart.backend.Repository.StoreRepository;
+import me.sarismart.backend.Repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class StockAdjustmentConcurrencyTest {
+
+	private static final int THREADS = 16;
+	private static final int ADJUSTMENTS_PER_THREAD = 25;
+	private static final int INITIAL_STOCK = 100;
+
+	@Autowired
+	private StoreService storeService;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private StoreRepository storeRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private StockAdjustmentRepository stockAdjustmentRepository;
+
+	@AfterEach
+	void clearSecurityContext() {
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void concurrentAdjustmentsNeverLoseUpdates() throws Exception {
+		User owner = new User();
+		owner.setSupabaseUid(UUID.randomUUID().toString());
+		owner.setEmail(owner.getSupabaseUid() + "@example.com");
+		userRepository.save(owner);
+
+		Store store = new Store();
+		store.setStoreName("Stress Store " + owner.getSupabaseUid());
+		store.setLocation("Cebu City");
+		store.setLatitude(10.3157);
+		store.setLongitude(123.8854);
+		store.setOwner(owner);
+		store = storeRepository.save(store);
+
+		Product product = new Product();
+		product.setBarcode("4800000000001");
+		product.setName("Sardines");
+		product.setPrice(25);
+		product.setStock(INITIAL_STOCK);
+		product.setStore(store);
+		product = productRepository.save(product);
+
+		Long storeId = store.getId();
+		Long productId = product.getId();
+		String ownerId = owner.getSupabaseUid();
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> results = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			results.add(executor.submit(() -> {
+				SecurityContextHolder.getContext().setAuthentication(
+						new UsernamePasswordAuthenticationToken(ownerId, null, List.of()));
+				start.await();
+				for (int i = 0; i < ADJUSTMENTS_PER_THREAD; i++) {
+					storeService.adjustStock(storeId, productId, 1);
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> result : results) {
+			result.get(60, TimeUnit.SECONDS);
+		}
+		executor.shutdown();
+
+		int total = THREADS * ADJUSTMENTS_PER_THREAD;
+		assertThat(productRepository.findStockById(productId)).isEqualTo(INITIAL_STOCK + total);
+
+		// Every +1 must have moved the stock one step further: the ledger is a gapless
+		// chain from the initial stock to the final one with no two entries sharing a step.
+		List<StockAdjustment> ledger = stockAdjustmentRepository.findByStoreIdAndProductId(storeId, productId);
+		assertThat(ledger).hasSize(total);
+		assertThat(ledger).allSatisfy(entry -> assertThat(entry.getNewStock() - entry.getOldStock()).isEqualTo(1));
+		assertThat(ledger).extracting(StockAdjustment::getNewStock)
+				.containsExactlyInAnyOrderElementsOf(
+						IntStream.rangeClosed(INITIAL_STOCK + 1, INITIAL_STOCK + total).boxed().toList());
+	}
+}
@@ -0,0 +1,106 @@
+package me.sarismart.backend.Service;
+
+import me.sarismart.backend.DTO.StoreLocation;
+import me.sarismart.backend.Repository.StoreRepository;
+import me.sarismart.backend.Service.StoreLocationIndex.StoreDistance;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class StoreLocationIndexTest {
+
+	private StoreLocationIndex index;
+	private StoreRepository storeRepository;
+
+	@BeforeEach
+	void setUp() {
+		storeRepository = mock(StoreRepository.class);
+		when(storeRepository.findAllLocations()).thenReturn(List.of());
+		index = new StoreLocationIndex(storeRepository);
+
+		index.put(1L, 10.3157, 123.8854);  // Cebu City
+		index.put(2L, 10.3240, 123.9060);  // ~2.4 km away
+		index.put(3L, 10.2926, 123.8855);  // ~2.6 km away
+		index.put(4L, 14.5995, 120.9842);  // Manila
+	}
+
+	@Test
+	void withinRadiusReturnsMatchesNearestFirst() {
+		List<StoreDistance> matches = index.withinRadius(10.3157, 123.8854, 5);
+
+		assertThat(matches).extracting(StoreDistance::storeId).containsExactly(1L, 2L, 3L);
+		assertThat(matches.get(0).distanceKm()).isZero();
+	}
+
+	@Test
+	void largeRadiusFallsBackToFullScan() {
+		assertThat(index.withinRadius(10.3157, 123.8854, 1000)).hasSize(4);
+	}
+
+	@Test
+	void putMovesAndRemoveDropsStores() {
+		index.put(4L, 10.3160, 123.8860);
+		index.remove(2L);
+
+		assertThat(index.withinRadius(10.3157, 123.8854, 5))
+				.extracting(StoreDistance::storeId)
+				.containsExactly(1L, 4L, 3L);
+	}
+
+	@Test
+	void nearestReturnsKClosestStores() {
+		assertThat(index.nearest(14.60, 120.98, 2))
+				.extracting(StoreDistance::storeId)
+				.containsExactly(4L, 1L);
+	}
+
+	@Test
+	void pageResumesAfterCursor() {
+		List<StoreDistance> first = index.page(10.3157, 123.8854, 5, null, 2);
+		List<StoreDistance> second = index.page(10.3157, 123.8854, 5, first.get(1), 2);
+
+		assertThat(first).extracting(StoreDistance::storeId).containsExactly(1L, 2L);
+		assertThat(second).extracting(StoreDistance::storeId).containsExactly(3L);
+	}
+
+	@Test
+	void reloadPicksUpStoresWrittenElsewhere() {
+		index.size();
+		when(storeRepository.findAllLocations()).thenReturn(List.of(
+				location(1L, 10.3157, 123.8854),
+				location(3L, 10.3160, 123.8860),  // moved next to store 1
+				location(5L, 10.3170, 123.8870),  // created on another instance
+				location(4L, 14.5995, 120.9842)));
+
+		index.reload();
+
+		// Store 2 was deleted elsewhere.
+		assertThat(index.withinRadius(10.3157, 123.8854, 5))
+				.extracting(StoreDistance::storeId)
+				.containsExactly(1L, 3L, 5L);
+	}
+
+	private static StoreLocation location(Long id, double latitude, double longitude) {
+		return new StoreLocation() {
+			@Override
+			public Long getId() {
+				return id;
+			}
+
+			@Override
+			public double getLatitude() {
+				return latitude;
+			}
+
+			@Override
+			public double getLongitude() {
+				return longitude;
+			}
+		};
+	}
+}
@@ -0,0 +1,110 @@
+package me.sarismart.backend.Service;
+
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import me.sarismart.backend.Config.SupabaseClientConfig;
+import me.sarismart.backend.Util.CircuitBreaker;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SupabaseHttpClientTest {
+
+	private HttpServer stub;
+	private String baseUrl;
+	private final AtomicInteger hits = new AtomicInteger();
+	private PoolingHttpClientConnectionManager connectionManager;
+	private SupabaseHttpClient client;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		stub.createContext("/ok", exchange -> respond(exchange, 200, "{\"ok\":true}"));
+		stub.createContext("/bad-request", exchange -> respond(exchange, 400, "{\"error\":\"invalid_grant\"}"));
+		stub.createContext("/down", exchange -> respond(exchange, 503, "{\"error\":\"unavailable\"}"));
+		stub.createContext("/slow", exchange -> {
+			try {
+				Thread.sleep(1_000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			respond(exchange, 200, "{}");
+		});
+		stub.start();
+		baseUrl = "http://127.0.0.1:" + stub.getAddress().getPort();
+
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		SupabaseClientConfig config = new SupabaseClientConfig();
+		connectionManager = config.supabaseConnectionManager(registry, 4, Duration.ofMillis(500), Duration.ofMillis(200));
+		RestTemplate restTemplate = config.supabaseRestTemplate(connectionManager, Duration.ofMillis(200), Duration.ofMillis(200));
+		client = new SupabaseHttpClient(restTemplate, registry, 4, Duration.ofMillis(100), 3, Duration.ofMinutes(1));
+	}
+
+	@AfterEach
+	void tearDown() {
+		stub.stop(0);
+		connectionManager.close();
+	}
+
+	@Test
+	void returnsSuccessfulResponses() {
+		assertThat(client.exchange(baseUrl + "/ok", HttpMethod.GET, HttpEntity.EMPTY).getBody())
+				.isEqualTo("{\"ok\":true}");
+		assertThat(client.circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void slowUpstreamTimesOutAsUnavailable() {
+		assertThatThrownBy(() -> client.exchange(baseUrl + "/slow", HttpMethod.GET, HttpEntity.EMPTY))
+				.isInstanceOf(SupabaseUnavailableException.class);
+	}
+
+	@Test
+	void clientErrorsDoNotOpenTheCircuit() {
+		for (int i = 0; i < 5; i++) {
+			assertThatThrownBy(() -> client.exchange(baseUrl + "/bad-request", HttpMethod.POST, HttpEntity.EMPTY))
+					.isInstanceOf(HttpClientErrorException.class);
+		}
+		assertThat(client.circuitState()).isEqualTo(CircuitBreaker.State.CLOSED);
+	}
+
+	@Test
+	void repeatedServerErrorsOpenTheCircuitAndFailFast() {
+		for (int i = 0; i < 3; i++) {
+			assertThatThrownBy(() -> client.exchange(baseUrl + "/down", HttpMethod.POST, HttpEntity.EMPTY))
+					.isInstanceOf(HttpServerErrorException.class);
+		}
+		assertThat(client.circuitState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+		int hitsBefore = hits.get();
+		assertThatThrownBy(() -> client.exchange(baseUrl + "/ok", HttpMethod.GET, HttpEntity.EMPTY))
+				.isInstanceOf(SupabaseUnavailableException.class);
+		assertThat(hits.get()).isEqualTo(hitsBefore);
+	}
+
+	private void respond(com.sun.net.httpserver.HttpExchange exchange, int status, String body) throws IOException {
+		hits.incrementAndGet();
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+}